@@ -0,0 +1,48 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.FixedPointAccount;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Single-threaded cost of deposit followed by withdraw on one account. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBenchmark {
+
+  private Account account;
+  private FixedPointAccount fixedPoint;
+
+  @Setup
+  public void setUp() {
+    account = new Account("Bench", 1_000_000.0);
+    fixedPoint = new FixedPointAccount("Bench", 1_000_000.0);
+  }
+
+  @Benchmark
+  public double depositWithdraw() {
+    account.deposit(10.0);
+    account.withdraw(10.0);
+    return account.getBalance();
+  }
+
+  @Benchmark
+  public long depositWithdrawFixedPoint() {
+    fixedPoint.depositMinor(1_000);
+    fixedPoint.withdrawMinor(1_000);
+    return fixedPoint.getBalanceMinor();
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.learningjava.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per thread count and writes one JSON result file per run.
+ *
+ * <p>Arguments: {@code [include-regex] [thread counts, comma separated] [output prefix]}, for
+ * example {@code Transfer 1,4,8 results/transfer} produces {@code results/transfer-t4.json} etc.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+    // Utility class
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : ".*";
+    String threads = args.length > 1 ? args[1] : "1," + Runtime.getRuntime().availableProcessors();
+    String prefix = args.length > 2 ? args[2] : "jmh-result";
+    for (String t : threads.split(",")) {
+      int count = Integer.parseInt(t.trim());
+      Options options =
+          new OptionsBuilder()
+              .include(include)
+              .threads(count)
+              .resultFormat(ResultFormatType.JSON)
+              .result(prefix + "-t" + count + ".json")
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.InterestAccrual;
+import com.example.learningjava.examples.banking.SavingsAccount;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Month-end interest over {@code accountCount} accounts: one object at a time versus batched.
+ *
+ * <p>Balances are put back to their opening values before every invocation, so each call measures
+ * one month of interest on realistic amounts rather than compounding towards infinity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InterestBenchmark {
+
+  @Param({"10000", "1000000"})
+  public int accountCount;
+
+  private Account[] accounts;
+  private double[] opening;
+  private double[] balances;
+  private byte[] types;
+  private InterestAccrual accrual;
+
+  @Setup
+  public void setUp() {
+    accounts = new Account[accountCount];
+    opening = new double[accountCount];
+    balances = new double[accountCount];
+    types = new byte[accountCount];
+    for (int i = 0; i < accountCount; i++) {
+      boolean savings = i % 2 == 0;
+      accounts[i] = savings ? new SavingsAccount() : new Account("Current", 0.0);
+      accounts[i].deposit(100.0 + i);
+      opening[i] = 100.0 + i;
+      types[i] = (byte) (savings ? 1 : 0);
+    }
+    accrual = new InterestAccrual(0.0, SavingsAccount.DEFAULT_INTEREST_RATE);
+  }
+
+  @Setup(Level.Invocation)
+  public void resetBalances() {
+    System.arraycopy(opening, 0, balances, 0, accountCount);
+    for (int i = 0; i < accountCount; i++) {
+      double excess = accounts[i].getBalance() - opening[i];
+      if (excess > 0) {
+        accounts[i].withdraw(excess);
+      }
+    }
+  }
+
+  @Benchmark
+  public Account[] perObject() {
+    for (Account account : accounts) {
+      account.calculateInterest();
+    }
+    return accounts;
+  }
+
+  @Benchmark
+  public double[] batch() {
+    accrual.accrue(balances, types);
+    return balances;
+  }
+
+  @Benchmark
+  public double[] batchParallel() {
+    accrual.accrueParallel(balances, types);
+    return balances;
+  }
+}
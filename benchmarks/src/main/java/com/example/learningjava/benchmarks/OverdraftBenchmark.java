@@ -0,0 +1,52 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.SavingsAccount;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Cost of a rejected transfer through the throwing and the status-returning APIs. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OverdraftBenchmark {
+
+  private SavingsAccount service;
+  private Account empty;
+  private Account target;
+
+  @Setup
+  public void setUp() {
+    service = new SavingsAccount();
+    empty = new Account("Empty", 0.0);
+    target = new Account("Target", 0.0);
+  }
+
+  @Benchmark
+  public Object rejectedTransferThrowing() {
+    try {
+      service.transfer(empty, target, 100.0);
+      return null;
+    } catch (IllegalArgumentException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public TransactionStatus rejectedTransferStatus() {
+    return service.tryTransfer(empty, target, 100.0);
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.banking.TransactionStatus;
+import com.example.learningjava.examples.banking.TransferPipeline;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round-trip latency of {@link TransferPipeline} transfers, comparable to {@link
+ * TransferBenchmark}'s contended cases: with {@code accountCount = 2} every transfer hits the same
+ * two accounts.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+  @Param({"2", "64", "4096"})
+  public int accountCount;
+
+  @Param({"4"})
+  public int partitionCount;
+
+  private TransferPipeline pipeline;
+
+  @Setup
+  public void setUp() {
+    pipeline = new TransferPipeline(partitionCount, accountCount);
+    for (int i = 0; i < accountCount; i++) {
+      pipeline.deposit(i, 1_000_000_000.0);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pipeline.close();
+  }
+
+  @Benchmark
+  public TransactionStatus transfer() {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    return pipeline.tryTransfer(rnd.nextInt(accountCount), rnd.nextInt(accountCount), 1.0);
+  }
+}
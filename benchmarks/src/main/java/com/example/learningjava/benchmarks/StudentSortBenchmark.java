@@ -0,0 +1,82 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.collections.ComparatorByName;
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.examples.collections.StudentSorter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link StudentSorter} against {@code Collections.sort} with the existing comparators. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StudentSortBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private List<Student> original;
+  private List<Student> work;
+  private Random order;
+
+  @Setup(Level.Trial)
+  public void createStudents() {
+    Random rnd = new Random(42);
+    original = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Student s = new Student();
+      s.setName("Student" + rnd.nextInt(size * 10));
+      s.setMarks(rnd.nextInt(101));
+      original.add(s);
+    }
+    order = new Random(7);
+  }
+
+  @Setup(Level.Invocation)
+  public void shuffle() {
+    work = new ArrayList<>(original);
+    Collections.shuffle(work, order);
+  }
+
+  @Benchmark
+  public List<Student> marksCollectionsSort() {
+    Collections.sort(work);
+    return work;
+  }
+
+  @Benchmark
+  public List<Student> marksCountingSort() {
+    StudentSorter.sortByMarks(work);
+    return work;
+  }
+
+  @Benchmark
+  public List<Student> nameCollectionsSort() {
+    Collections.sort(work, new ComparatorByName());
+    return work;
+  }
+
+  @Benchmark
+  public List<Student> namePrefixKeySort() {
+    StudentSorter.sortByName(work);
+    return work;
+  }
+}
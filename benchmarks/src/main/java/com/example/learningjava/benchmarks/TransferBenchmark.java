@@ -0,0 +1,56 @@
+package com.example.learningjava.benchmarks;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.ConcurrentLedger;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link ConcurrentLedger} transfers between random accounts.
+ *
+ * <p>A small {@code accountCount} makes threads collide on the same stripes; a large one measures
+ * the uncontended path. Thread count is set with {@code -t} or by {@link BenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+
+  @Param({"2", "64", "4096"})
+  public int accountCount;
+
+  private Account[] accounts;
+  private ConcurrentLedger ledger;
+
+  @Setup
+  public void setUp() {
+    accounts = new Account[accountCount];
+    for (int i = 0; i < accountCount; i++) {
+      accounts[i] = new Account("A" + i, 1_000_000_000.0);
+    }
+    ledger = new ConcurrentLedger();
+  }
+
+  @Benchmark
+  public TransactionStatus transfer() {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    Account from = accounts[rnd.nextInt(accountCount)];
+    Account to = accounts[rnd.nextInt(accountCount)];
+    return ledger.tryTransfer(from, to, 1.0);
+  }
+}
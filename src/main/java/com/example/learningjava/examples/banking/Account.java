@@ -15,10 +15,18 @@ public class Account {
   }
 
   public void withdraw(double amount) {
-    if (amount > balance) {
+    if (tryWithdraw(amount) != TransactionStatus.OK) {
       throw new IllegalArgumentException("Insufficient funds");
     }
+  }
+
+  /** Same as {@link #withdraw(double)} but reports a refusal instead of throwing. */
+  public TransactionStatus tryWithdraw(double amount) {
+    if (amount > balance) {
+      return TransactionStatus.INSUFFICIENT_FUNDS;
+    }
     balance -= amount;
+    return TransactionStatus.OK;
   }
 
   public void calculateInterest() {
@@ -0,0 +1,414 @@
+package com.example.learningjava.examples.banking;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Registry of accounts addressed by numeric id, with optional write-ahead journaling.
+ *
+ * <p>Mutations are applied through a {@link ConcurrentLedger}. When a {@link TransactionJournal} is
+ * attached, each operation is checked by the account's own rules, appended to the journal and
+ * applied while the account locks are held, so the journal order matches the order in which
+ * conflicting operations were applied and a refused or failed append leaves the account untouched.
+ * The locks are then released and the caller returns only once its record is durable, so operations
+ * on the same accounts share one group commit instead of paying one sync each. A transfer is
+ * journaled as one record, so replay never sees the withdrawal without the deposit.
+ *
+ * <p>A caller applying many operations back to back, such as a server draining a pipelined
+ * connection, can bracket them with {@link #beginBatch()} and {@link #endBatch()}: the operations
+ * then return as soon as they are applied and journaled, and {@code endBatch} waits once for the
+ * last of their records to be durable. Nothing from the batch may be acknowledged before then.
+ *
+ * <p>If the journal reports a write failure the book stops: every later mutation throws {@link
+ * IllegalStateException}, because memory may now hold changes the disk does not.
+ *
+ * <p>A book restored from an {@link AccountSnapshot} leaves the snapshot mapped and creates each
+ * {@link Account} the first time its id is used.
+ */
+public class AccountBook {
+
+  /** Receives one account during {@link #forEachBalance}. */
+  @FunctionalInterface
+  public interface BalanceVisitor {
+    void accept(long id, double balance);
+  }
+
+  private final Map<Long, Account> accounts;
+  private final ConcurrentLedger ledger;
+  private final TransactionJournal journal;
+  private final AccountSnapshot snapshot;
+  private volatile boolean fullyMaterialized;
+  private volatile boolean journalFailed;
+  // Highest sequence journaled by this thread's open batch; absent when no batch is open.
+  private final ThreadLocal<long[]> batchHighWater = new ThreadLocal<>();
+
+  /** Creates an in-memory book without a journal. */
+  public AccountBook() {
+    this(null);
+  }
+
+  /** Creates a book that records every mutation in {@code journal} (may be {@code null}). */
+  public AccountBook(TransactionJournal journal) {
+    this(journal, null);
+  }
+
+  private AccountBook(TransactionJournal journal, AccountSnapshot snapshot) {
+    this(new ConcurrentHashMap<>(), new ConcurrentLedger(), journal, snapshot);
+  }
+
+  private AccountBook(
+      Map<Long, Account> accounts,
+      ConcurrentLedger ledger,
+      TransactionJournal journal,
+      AccountSnapshot snapshot) {
+    this.accounts = accounts;
+    this.ledger = ledger;
+    this.journal = journal;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Rebuilds a book from the journal at {@code path} and keeps journaling to the same file.
+   *
+   * @see #replay(JournalRecord)
+   */
+  public static AccountBook recover(Path path) throws IOException {
+    AccountBook book = new AccountBook(null);
+    TransactionJournal.replay(path, 0, book::replay);
+    return book.withJournal(TransactionJournal.open(path));
+  }
+
+  /**
+   * Maps the snapshot at {@code snapshotPath}, replays only the journal records written after it
+   * and keeps journaling to {@code journalPath}. Accounts the journal does not touch stay in the
+   * mapped file until first used.
+   */
+  public static AccountBook restore(Path snapshotPath, Path journalPath) throws IOException {
+    AccountSnapshot loaded = AccountSnapshot.load(snapshotPath);
+    AccountBook book = new AccountBook(null, loaded);
+    TransactionJournal.replay(journalPath, loaded.getJournalSequence(), book::replay);
+    return book.withJournal(TransactionJournal.open(journalPath));
+  }
+
+  /**
+   * Returns a book that journals to {@code newJournal} and shares this book's accounts and ledger,
+   * so operations through either book lock the same stripes.
+   */
+  public AccountBook withJournal(TransactionJournal newJournal) {
+    return new AccountBook(accounts, ledger, newJournal, snapshot);
+  }
+
+  /**
+   * Writes every balance to {@code path} as a consistent cut and returns the journal sequence it
+   * covers. Mutations are paused only while balances are copied, not while the file is written.
+   */
+  public long writeSnapshot(Path path) throws IOException {
+    checkJournalHealthy();
+    SnapshotCut cut = new SnapshotCut();
+    ledger.runExclusive(
+        () -> {
+          int capacity = accounts.size() + (snapshot == null ? 0 : snapshot.size());
+          cut.ids = new long[capacity];
+          cut.balances = new double[capacity];
+          forEachBalance(cut::add);
+          cut.sequence = journal == null ? 0 : journal.getLastSequence();
+        });
+    // The cut may include applied records whose group commit has not finished yet.
+    awaitDurable(cut.sequence);
+    AccountSnapshot.sortById(cut.ids, cut.balances, cut.count);
+    AccountSnapshot.write(path, cut.ids, cut.balances, cut.count, cut.sequence);
+    return cut.sequence;
+  }
+
+  /** Defers this thread's waits for durability until {@link #endBatch()}. */
+  public void beginBatch() {
+    if (batchHighWater.get() != null) {
+      throw new IllegalStateException("A batch is already open on this thread");
+    }
+    batchHighWater.set(new long[1]);
+  }
+
+  /**
+   * Closes this thread's batch and waits until every record it journaled is durable.
+   *
+   * @throws UncheckedIOException if the journal could not write them
+   */
+  public void endBatch() {
+    long[] highWater = batchHighWater.get();
+    if (highWater == null) {
+      throw new IllegalStateException("No batch is open on this thread");
+    }
+    batchHighWater.remove();
+    if (highWater[0] > 0) {
+      awaitDurable(highWater[0]);
+    }
+  }
+
+  /** Opens a new plain {@link Account} under {@code id}. */
+  public Account open(long id, double initialBalance) {
+    Account account = new Account("Account " + id, initialBalance);
+    register(id, account, initialBalance);
+    return account;
+  }
+
+  public void deposit(long id, double amount) {
+    Account account = require(id);
+    long sequence;
+    ledger.lockBoth(account, account);
+    try {
+      sequence = append(JournalRecord.DEPOSIT, id, 0, amount);
+      account.deposit(amount);
+    } finally {
+      ledger.unlockBoth(account, account);
+    }
+    awaitDurable(sequence);
+  }
+
+  public void withdraw(long id, double amount) {
+    Account account = require(id);
+    long sequence;
+    ledger.lockBoth(account, account);
+    try {
+      // The account's own withdraw decides; nothing is journaled if it refuses.
+      account.withdraw(amount);
+      try {
+        sequence = append(JournalRecord.WITHDRAW, id, 0, amount);
+      } catch (RuntimeException e) {
+        account.deposit(amount);
+        throw e;
+      }
+    } finally {
+      ledger.unlockBoth(account, account);
+    }
+    awaitDurable(sequence);
+  }
+
+  public void transfer(long fromId, long toId, double amount) {
+    AccountService.throwIfRejected(tryTransfer(fromId, toId, amount));
+  }
+
+  /** Same as {@link #transfer} but reports a refusal as a status instead of throwing. */
+  public TransactionStatus tryTransfer(long fromId, long toId, double amount) {
+    if (amount <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    Account from = require(fromId);
+    Account to = require(toId);
+    long sequence;
+    ledger.lockBoth(from, to);
+    try {
+      TransactionStatus status = from.tryWithdraw(amount);
+      if (status != TransactionStatus.OK) {
+        return status;
+      }
+      try {
+        sequence = append(JournalRecord.TRANSFER, fromId, toId, amount);
+      } catch (RuntimeException e) {
+        from.deposit(amount);
+        throw e;
+      }
+      to.deposit(amount);
+    } finally {
+      ledger.unlockBoth(from, to);
+    }
+    awaitDurable(sequence);
+    return TransactionStatus.OK;
+  }
+
+  public double balance(long id) {
+    return ledger.balanceOf(require(id));
+  }
+
+  /** Returns the account registered under {@code id}, or {@code null}. */
+  public Account get(long id) {
+    Account account = accounts.get(id);
+    return account != null ? account : materialize(id);
+  }
+
+  /** Returns the number of accounts, including ones not yet loaded from a snapshot. */
+  public int size() {
+    if (snapshot == null || fullyMaterialized) {
+      return accounts.size();
+    }
+    int count = snapshot.size();
+    for (Long id : accounts.keySet()) {
+      if (snapshot.indexOf(id) < 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Passes every account's id and balance to {@code visitor} without loading accounts still held
+   * only in the snapshot. Each id is visited once: snapshot entries first, taking the live balance
+   * of any that have been loaded, then accounts opened since.
+   */
+  public void forEachBalance(BalanceVisitor visitor) {
+    if (snapshot != null) {
+      for (int i = 0; i < snapshot.size(); i++) {
+        long id = snapshot.idAt(i);
+        Account loaded = accounts.get(id);
+        visitor.accept(id, loaded != null ? loaded.getBalance() : snapshot.balanceAt(i));
+      }
+    }
+    accounts.forEach(
+        (id, account) -> {
+          if (snapshot == null || snapshot.indexOf(id) < 0) {
+            visitor.accept(id, account.getBalance());
+          }
+        });
+  }
+
+  /**
+   * Visits every account; balances may change concurrently while iterating. Loads all accounts
+   * still held only in the snapshot first; use {@link #forEachBalance} to avoid that.
+   */
+  public void forEach(BiConsumer<Long, Account> action) {
+    materializeAll();
+    accounts.forEach(action);
+  }
+
+  /** Returns the ledger that guards this book's accounts. */
+  public ConcurrentLedger getLedger() {
+    return ledger;
+  }
+
+  /** Applies one journal record without journaling it again. */
+  public void replay(JournalRecord record) {
+    long id = record.getAccountId();
+    switch (record.getType()) {
+      case JournalRecord.OPEN:
+        accounts.put(id, new Account("Account " + id, record.getAmount()));
+        break;
+      case JournalRecord.DEPOSIT:
+        require(id).deposit(record.getAmount());
+        break;
+      case JournalRecord.WITHDRAW:
+        require(id).withdraw(record.getAmount());
+        break;
+      case JournalRecord.TRANSFER:
+        require(id).withdraw(record.getAmount());
+        require(record.getCounterpartyId()).deposit(record.getAmount());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown journal record type: " + record.getType());
+    }
+  }
+
+  /**
+   * Adds an existing account under {@code id}. When journaled, the account is recorded by its
+   * current balance and comes back as a plain {@link Account} on recovery.
+   */
+  public void register(long id, Account account) {
+    register(id, account, account.getBalance());
+  }
+
+  private void register(long id, Account account, double openingBalance) {
+    long sequence;
+    ledger.lockBoth(account, account);
+    try {
+      if (materialize(id) != null || accounts.putIfAbsent(id, account) != null) {
+        throw new IllegalArgumentException("Account already exists: " + id);
+      }
+      // Later operations on the new account need its stripe, so they are journaled after the OPEN.
+      try {
+        sequence = append(JournalRecord.OPEN, id, 0, openingBalance);
+      } catch (RuntimeException e) {
+        accounts.remove(id, account);
+        throw e;
+      }
+    } finally {
+      ledger.unlockBoth(account, account);
+    }
+    awaitDurable(sequence);
+  }
+
+  private Account require(long id) {
+    Account account = get(id);
+    if (account == null) {
+      throw new IllegalArgumentException("Unknown account: " + id);
+    }
+    return account;
+  }
+
+  private Account materialize(long id) {
+    if (snapshot == null) {
+      return null;
+    }
+    int index = snapshot.indexOf(id);
+    if (index < 0) {
+      return null;
+    }
+    return accounts.computeIfAbsent(
+        id, key -> new Account("Account " + key, snapshot.balanceAt(index)));
+  }
+
+  private void materializeAll() {
+    if (snapshot != null && !fullyMaterialized) {
+      for (int i = 0; i < snapshot.size(); i++) {
+        materialize(snapshot.idAt(i));
+      }
+      fullyMaterialized = true;
+    }
+  }
+
+  /** Queues a record for the next group commit; called under the account locks. */
+  private long append(byte type, long id, long counterparty, double amount) {
+    if (journal == null) {
+      return 0;
+    }
+    checkJournalHealthy();
+    return journal.append(type, id, counterparty, amount);
+  }
+
+  /** Waits, without holding any account lock, until {@code sequence} is on disk. */
+  private void awaitDurable(long sequence) {
+    if (journal == null) {
+      return;
+    }
+    long[] highWater = batchHighWater.get();
+    if (highWater != null) {
+      highWater[0] = Math.max(highWater[0], sequence);
+      return;
+    }
+    try {
+      journal.awaitDurable(sequence);
+    } catch (InterruptedIOException e) {
+      // Only this caller gave up waiting; the record may still be written.
+      throw new UncheckedIOException(e);
+    } catch (IOException e) {
+      journalFailed = true;
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void checkJournalHealthy() {
+    if (journalFailed) {
+      throw new IllegalStateException("Journal write failed; the book no longer accepts changes");
+    }
+  }
+
+  /** Balances copied while all stripes are held. */
+  private static final class SnapshotCut {
+    private long[] ids;
+    private double[] balances;
+    private int count;
+    private long sequence;
+
+    void add(long id, double balance) {
+      if (count == ids.length) {
+        ids = Arrays.copyOf(ids, count * 2 + 1);
+        balances = Arrays.copyOf(balances, ids.length);
+      }
+      ids[count] = id;
+      balances[count++] = balance;
+    }
+  }
+}
@@ -9,4 +9,31 @@ public interface AccountService {
   void withdraw(double amount) throws InsufficientBalanceException;
 
   void transfer(Account from, Account to, double amount);
+
+  /**
+   * Same as {@link #transfer} but reports a refusal as a status instead of throwing, so rejected
+   * transfers do not pay for exception construction.
+   */
+  default TransactionStatus tryTransfer(Account from, Account to, double amount) {
+    if (amount <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    TransactionStatus status = from.tryWithdraw(amount);
+    if (status == TransactionStatus.OK) {
+      to.deposit(amount);
+    }
+    return status;
+  }
+
+  /** Throws the exception {@link #transfer} has always used for a non-OK {@code status}. */
+  static void throwIfRejected(TransactionStatus status) {
+    switch (status) {
+      case OK:
+        return;
+      case INVALID_AMOUNT:
+        throw new IllegalArgumentException("Transfer amount must be positive");
+      default:
+        throw new IllegalArgumentException("Insufficient balance");
+    }
+  }
 }
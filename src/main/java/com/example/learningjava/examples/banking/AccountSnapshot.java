@@ -0,0 +1,174 @@
+package com.example.learningjava.examples.banking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary snapshot of account balances, written and read through a memory-mapped file.
+ *
+ * <p>The file is a fixed header (magic, version, entry count, journal sequence) followed by {@code
+ * (long id, double balance)} pairs sorted by id. Loading only maps the file; entries are read from
+ * the page cache when looked up, so startup cost does not grow with the number of accounts. The
+ * journal sequence tells recovery where to resume replay.
+ */
+public final class AccountSnapshot {
+
+  /** Largest number of accounts that fits in a single mapped region. */
+  public static final int MAX_ENTRIES = (Integer.MAX_VALUE - 24) / 16;
+
+  private static final int MAGIC = 0x41434E53; // "ACNS"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 24;
+  private static final int ENTRY_BYTES = 16;
+
+  private final ByteBuffer data;
+  private final int size;
+  private final long journalSequence;
+
+  private AccountSnapshot(ByteBuffer data, int size, long journalSequence) {
+    this.data = data;
+    this.size = size;
+    this.journalSequence = journalSequence;
+  }
+
+  /**
+   * Writes {@code count} entries to {@code path}. {@code ids} must be sorted ascending. The file is
+   * written next to the target and moved into place, so a crash never leaves a half-written
+   * snapshot under {@code path}.
+   */
+  public static void write(
+      Path path, long[] ids, double[] balances, int count, long journalSequence)
+      throws IOException {
+    if (count < 0 || count > MAX_ENTRIES) {
+      throw new IllegalArgumentException("Snapshot supports up to " + MAX_ENTRIES + " accounts");
+    }
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    long bytes = HEADER_BYTES + (long) count * ENTRY_BYTES;
+    try (FileChannel channel =
+        FileChannel.open(
+            tmp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+      out.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(journalSequence);
+      long previous = Long.MIN_VALUE;
+      for (int i = 0; i < count; i++) {
+        if (i > 0 && ids[i] <= previous) {
+          throw new IllegalArgumentException("Account ids must be unique and sorted");
+        }
+        previous = ids[i];
+        out.putLong(ids[i]).putDouble(balances[i]);
+      }
+      out.force();
+    }
+    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** Maps the snapshot at {@code path} read-only without reading its entries. */
+  public static AccountSnapshot load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long bytes = channel.size();
+      if (bytes < HEADER_BYTES || bytes > Integer.MAX_VALUE) {
+        throw new IOException("Not an account snapshot: " + path);
+      }
+      MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+      if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+        throw new IOException("Not an account snapshot: " + path);
+      }
+      long count = data.getLong(8);
+      if (count < 0 || HEADER_BYTES + count * ENTRY_BYTES != bytes) {
+        throw new IOException("Truncated account snapshot: " + path);
+      }
+      return new AccountSnapshot(data, (int) count, data.getLong(16));
+    }
+  }
+
+  /** Returns the number of accounts in the snapshot. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the last journal sequence whose effect is included in the snapshot. */
+  public long getJournalSequence() {
+    return journalSequence;
+  }
+
+  public long idAt(int index) {
+    return data.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+  }
+
+  public double balanceAt(int index) {
+    return data.getDouble(HEADER_BYTES + index * ENTRY_BYTES + Long.BYTES);
+  }
+
+  /** Returns the entry index of {@code id} by binary search, or {@code -1} if absent. */
+  public int indexOf(long id) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midId = idAt(mid);
+      if (midId < id) {
+        low = mid + 1;
+      } else if (midId > id) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /** Sorts {@code ids[0..count)} ascending, applying the same permutation to {@code balances}. */
+  static void sortById(long[] ids, double[] balances, int count) {
+    quickSort(ids, balances, 0, count - 1);
+  }
+
+  private static void quickSort(long[] ids, double[] balances, int low, int high) {
+    while (high - low > 16) {
+      long pivot = ids[(low + high) >>> 1];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (ids[i] < pivot) {
+          i++;
+        }
+        while (ids[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(ids, balances, i++, j--);
+        }
+      }
+      if (j - low < high - i) {
+        quickSort(ids, balances, low, j);
+        low = i;
+      } else {
+        quickSort(ids, balances, i, high);
+        high = j;
+      }
+    }
+    for (int i = low + 1; i <= high; i++) {
+      for (int j = i; j > low && ids[j - 1] > ids[j]; j--) {
+        swap(ids, balances, j, j - 1);
+      }
+    }
+  }
+
+  private static void swap(long[] ids, double[] balances, int a, int b) {
+    long id = ids[a];
+    ids[a] = ids[b];
+    ids[b] = id;
+    double balance = balances[a];
+    balances[a] = balances[b];
+    balances[b] = balance;
+  }
+}
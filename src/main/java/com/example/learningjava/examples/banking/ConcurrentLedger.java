@@ -0,0 +1,187 @@
+package com.example.learningjava.examples.banking;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe {@link AccountService} that makes two-account transfers atomic.
+ *
+ * <p>Each account is guarded by one of a fixed set of lock stripes chosen by identity hash, so
+ * transfers between unrelated accounts run in parallel. A transfer takes the two stripes in index
+ * order, which rules out deadlock between opposing transfers. All mutations of an account must go
+ * through the same ledger for the guarantee to hold.
+ */
+public class ConcurrentLedger implements AccountService {
+
+  /** Stripe count used when none is given; a power of two. */
+  public static final int DEFAULT_STRIPES = 64;
+
+  private final Account account;
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  /** Creates a ledger that only guards the accounts passed to its methods. */
+  public ConcurrentLedger() {
+    this(null, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a ledger whose {@link #deposit(double)} and {@link #withdraw(double)} act on {@code
+   * account}.
+   */
+  public ConcurrentLedger(Account account) {
+    this(account, DEFAULT_STRIPES);
+  }
+
+  /** Creates a ledger with at least {@code stripeCount} locks, rounded up to a power of two. */
+  public ConcurrentLedger(Account account, int stripeCount) {
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive");
+    }
+    int size = Integer.highestOneBit(stripeCount);
+    if (size < stripeCount) {
+      size <<= 1;
+    }
+    this.account = account;
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.mask = size - 1;
+  }
+
+  @Override
+  public void deposit(double amount) {
+    deposit(boundAccount(), amount);
+  }
+
+  @Override
+  public void withdraw(double amount) {
+    withdraw(boundAccount(), amount);
+  }
+
+  /** Deposits into {@code target} while holding its stripe. */
+  public void deposit(Account target, double amount) {
+    ReentrantLock lock = stripeFor(target);
+    lock.lock();
+    try {
+      target.deposit(amount);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Withdraws from {@code target} while holding its stripe. */
+  public void withdraw(Account target, double amount) {
+    ReentrantLock lock = stripeFor(target);
+    lock.lock();
+    try {
+      target.withdraw(amount);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Reads the balance of {@code target} while holding its stripe. */
+  public double balanceOf(Account target) {
+    ReentrantLock lock = stripeFor(target);
+    lock.lock();
+    try {
+      return target.getBalance();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void transfer(Account from, Account to, double amount) {
+    AccountService.throwIfRejected(tryTransfer(from, to, amount));
+  }
+
+  /** Withdraws from {@code target} under its stripe, reporting a refusal instead of throwing. */
+  public TransactionStatus tryWithdraw(Account target, double amount) {
+    ReentrantLock lock = stripeFor(target);
+    lock.lock();
+    try {
+      return target.tryWithdraw(amount);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public TransactionStatus tryTransfer(Account from, Account to, double amount) {
+    if (amount <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    lockBoth(from, to);
+    try {
+      TransactionStatus status = from.tryWithdraw(amount);
+      if (status == TransactionStatus.OK) {
+        to.deposit(amount);
+      }
+      return status;
+    } finally {
+      unlockBoth(from, to);
+    }
+  }
+
+  /**
+   * Acquires the stripes of both accounts in index order. Used by callers in this package that must
+   * record a mutation atomically with applying it; release with {@link #unlockBoth} in a {@code
+   * finally} block. Unlike a callback, this allocates nothing per call.
+   */
+  void lockBoth(Account first, Account second) {
+    int a = stripeIndex(first);
+    int b = stripeIndex(second);
+    stripes[Math.min(a, b)].lock();
+    if (a != b) {
+      stripes[Math.max(a, b)].lock();
+    }
+  }
+
+  /** Releases the stripes taken by {@link #lockBoth} for the same two accounts. */
+  void unlockBoth(Account first, Account second) {
+    int a = stripeIndex(first);
+    int b = stripeIndex(second);
+    if (a != b) {
+      stripes[Math.max(a, b)].unlock();
+    }
+    stripes[Math.min(a, b)].unlock();
+  }
+
+  /** Runs {@code action} while holding every stripe, so no guarded mutation is in progress. */
+  void runExclusive(Runnable action) {
+    int locked = 0;
+    try {
+      for (; locked < stripes.length; locked++) {
+        stripes[locked].lock();
+      }
+      action.run();
+    } finally {
+      while (locked > 0) {
+        stripes[--locked].unlock();
+      }
+    }
+  }
+
+  /** Returns the number of lock stripes. */
+  public int stripeCount() {
+    return stripes.length;
+  }
+
+  private Account boundAccount() {
+    if (account == null) {
+      throw new IllegalStateException("No account is bound to this ledger");
+    }
+    return account;
+  }
+
+  private ReentrantLock stripeFor(Account target) {
+    return stripes[stripeIndex(target)];
+  }
+
+  private int stripeIndex(Account target) {
+    int h = System.identityHashCode(target);
+    return (h ^ (h >>> 16)) & mask;
+  }
+}
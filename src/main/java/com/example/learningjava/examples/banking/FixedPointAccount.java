@@ -0,0 +1,119 @@
+package com.example.learningjava.examples.banking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Account whose balance is a {@code long} count of minor units instead of a {@code double}.
+ *
+ * <p>Every update is a single atomic operation on that {@code long} (a CAS loop for withdrawals),
+ * so concurrent deposits and withdrawals on the same account never lose updates and never need a
+ * rounding pass. The inherited {@code double balance} field is not used.
+ */
+public class FixedPointAccount extends Account {
+
+  private static final VarHandle MINOR;
+
+  static {
+    try {
+      MINOR =
+          MethodHandles.lookup().findVarHandle(FixedPointAccount.class, "minorBalance", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final MoneyScale scale;
+
+  @SuppressWarnings("unused") // accessed through MINOR
+  private volatile long minorBalance;
+
+  public FixedPointAccount(String name, double initialBalance) {
+    this(name, initialBalance, MoneyScale.CENTS);
+  }
+
+  public FixedPointAccount(String name, double initialBalance, MoneyScale scale) {
+    super(name, 0.0);
+    this.scale = scale;
+    this.minorBalance = scale.toMinor(initialBalance);
+  }
+
+  @Override
+  public void deposit(double amount) {
+    depositMinor(scale.toMinor(amount));
+  }
+
+  @Override
+  public void withdraw(double amount) {
+    withdrawMinor(scale.toMinor(amount));
+  }
+
+  @Override
+  public TransactionStatus tryWithdraw(double amount) {
+    return tryWithdrawMinor(scale.toMinor(amount))
+        ? TransactionStatus.OK
+        : TransactionStatus.INSUFFICIENT_FUNDS;
+  }
+
+  /**
+   * Adds {@code amount} minor units; non-positive amounts are ignored like {@link #deposit}.
+   *
+   * @throws ArithmeticException if the balance would overflow a {@code long}
+   */
+  public void depositMinor(long amount) {
+    if (amount <= 0) {
+      return;
+    }
+    long current;
+    do {
+      current = (long) MINOR.getVolatile(this);
+    } while (!MINOR.compareAndSet(this, current, Math.addExact(current, amount)));
+  }
+
+  /** Removes {@code amount} minor units, failing without change if the balance is too low. */
+  public void withdrawMinor(long amount) {
+    if (!tryWithdrawMinor(amount)) {
+      throw new IllegalArgumentException("Insufficient funds");
+    }
+  }
+
+  /** Attempts to remove {@code amount} minor units and reports whether it succeeded. */
+  public boolean tryWithdrawMinor(long amount) {
+    long current;
+    do {
+      current = (long) MINOR.getVolatile(this);
+      if (amount > current) {
+        return false;
+      }
+    } while (!MINOR.compareAndSet(this, current, current - amount));
+    return true;
+  }
+
+  /**
+   * Applies {@code basisPoints / 10000} interest to the balance atomically, rounding half up.
+   *
+   * @throws ArithmeticException if the result does not fit in a {@code long}
+   */
+  protected void applyInterestBasisPoints(long basisPoints) {
+    long current;
+    long updated;
+    do {
+      current = (long) MINOR.getVolatile(this);
+      long interest = Math.floorDiv(Math.multiplyExact(current, basisPoints) + 5_000, 10_000);
+      updated = Math.addExact(current, interest);
+    } while (!MINOR.compareAndSet(this, current, updated));
+  }
+
+  @Override
+  public double getBalance() {
+    return scale.toMajor(getBalanceMinor());
+  }
+
+  public long getBalanceMinor() {
+    return (long) MINOR.getVolatile(this);
+  }
+
+  public MoneyScale getScale() {
+    return scale;
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.learningjava.examples.banking;
+
+/**
+ * Fixed-point counterpart of {@link SavingsAccount}.
+ *
+ * <p>Interest is configured in basis points (400 = 4%) and applied with integer arithmetic.
+ * Transfers between two fixed-point accounts of the same scale move minor units directly.
+ */
+public class FixedPointSavingsAccount extends FixedPointAccount implements AccountService {
+
+  /** Default interest rate, matching {@link SavingsAccount}. */
+  public static final long DEFAULT_INTEREST_BASIS_POINTS = 400;
+
+  private final long interestBasisPoints;
+
+  public FixedPointSavingsAccount() {
+    this(MoneyScale.CENTS, DEFAULT_INTEREST_BASIS_POINTS);
+  }
+
+  public FixedPointSavingsAccount(MoneyScale scale, long interestBasisPoints) {
+    super("Savings", 0.0, scale);
+    this.interestBasisPoints = interestBasisPoints;
+  }
+
+  @Override
+  public void calculateInterest() {
+    applyInterestBasisPoints(interestBasisPoints);
+  }
+
+  @Override
+  public void withdraw(double amount) {
+    if (!tryWithdrawMinor(getScale().toMinor(amount))) {
+      throw new IllegalArgumentException("Not enough money!");
+    }
+  }
+
+  @Override
+  public void transfer(Account from, Account to, double amount) {
+    AccountService.throwIfRejected(tryTransfer(from, to, amount));
+  }
+
+  @Override
+  public TransactionStatus tryTransfer(Account from, Account to, double amount) {
+    if (amount <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    if (from instanceof FixedPointAccount && to instanceof FixedPointAccount) {
+      FixedPointAccount src = (FixedPointAccount) from;
+      FixedPointAccount dst = (FixedPointAccount) to;
+      if (src.getScale().equals(dst.getScale())) {
+        long minor = src.getScale().toMinor(amount);
+        if (!src.tryWithdrawMinor(minor)) {
+          return TransactionStatus.INSUFFICIENT_FUNDS;
+        }
+        dst.depositMinor(minor);
+        return TransactionStatus.OK;
+      }
+    }
+    return AccountService.super.tryTransfer(from, to, amount);
+  }
+
+  public long getInterestBasisPoints() {
+    return interestBasisPoints;
+  }
+}
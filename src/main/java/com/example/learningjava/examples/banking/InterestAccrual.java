@@ -0,0 +1,197 @@
+package com.example.learningjava.examples.banking;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Applies interest to many accounts at once over columnar balance arrays.
+ *
+ * <p>Instead of calling {@link Account#calculateInterest()} on each object, balances are held in a
+ * primitive array alongside a parallel array of account-type indexes, and the rate for each type is
+ * looked up from a small table. The loops touch memory sequentially and contain no virtual calls,
+ * and large arrays can be split across a {@link ForkJoinPool}.
+ *
+ * <pre>
+ * InterestAccrual accrual = new InterestAccrual(0.0, SavingsAccount.DEFAULT_INTEREST_RATE);
+ * accrual.accrue(balances, types); // types[i] == 1 for savings accounts
+ * </pre>
+ */
+public final class InterestAccrual {
+
+  /** Arrays shorter than this are processed on the calling thread. */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+
+  // Rates on the minor-unit path are held in units of 10^-8 (a ten-thousandth of a basis point).
+  private static final long RATE_UNITS = 100_000_000L;
+
+  private final double[] ratesByType;
+  private final long[] rateUnitsByType;
+  private final long maxAbsRateUnits;
+  private final int parallelThreshold;
+
+  /** Creates an accrual where account type {@code i} earns {@code ratesByType[i]}. */
+  public InterestAccrual(double... ratesByType) {
+    this(DEFAULT_PARALLEL_THRESHOLD, ratesByType);
+  }
+
+  public InterestAccrual(int parallelThreshold, double... ratesByType) {
+    if (ratesByType.length == 0 || ratesByType.length > 256) {
+      throw new IllegalArgumentException("Between 1 and 256 account types are supported");
+    }
+    if (parallelThreshold <= 0) {
+      throw new IllegalArgumentException("Parallel threshold must be positive");
+    }
+    this.ratesByType = ratesByType.clone();
+    this.rateUnitsByType = new long[ratesByType.length];
+    long maxAbs = 0;
+    for (int i = 0; i < ratesByType.length; i++) {
+      rateUnitsByType[i] = Math.round(ratesByType[i] * RATE_UNITS);
+      maxAbs = Math.max(maxAbs, Math.abs(rateUnitsByType[i]));
+    }
+    this.maxAbsRateUnits = maxAbs;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  /** Applies one rate to every balance; the loop is simple enough for the JIT to vectorize. */
+  public static void accrueUniform(double[] balances, double rate) {
+    double factor = 1.0 + rate;
+    for (int i = 0; i < balances.length; i++) {
+      balances[i] *= factor;
+    }
+  }
+
+  /** Applies the rate of {@code types[i]} to {@code balances[i]} for every account. */
+  public void accrue(double[] balances, byte[] types) {
+    checkLengths(balances.length, types.length);
+    accrueRange(balances, types, 0, balances.length);
+  }
+
+  /**
+   * Fixed-point variant of {@link #accrue(double[], byte[])} over minor units, rounding half up
+   * like {@link FixedPointSavingsAccount#calculateInterest()}. Rates are applied to 10^-8, so
+   * fractional basis points such as 0.000425 are kept; whole basis points give exactly the
+   * per-account result.
+   *
+   * @throws ArithmeticException if a balance would overflow, as the per-account path does; no
+   *     balance is changed in that case
+   */
+  public void accrueMinor(long[] minorBalances, byte[] types) {
+    checkLengths(minorBalances.length, types.length);
+    accrueMinorRange(minorBalances, types, 0, minorBalances.length);
+  }
+
+  /** Same as {@link #accrue(double[], byte[])}, split across the common fork-join pool. */
+  public void accrueParallel(double[] balances, byte[] types) {
+    accrueParallel(balances, types, ForkJoinPool.commonPool());
+  }
+
+  public void accrueParallel(double[] balances, byte[] types, ForkJoinPool pool) {
+    checkLengths(balances.length, types.length);
+    pool.invoke(new AccrueTask(balances, null, types, 0, balances.length));
+  }
+
+  /**
+   * Same as {@link #accrueMinor(long[], byte[])}, split across {@code pool}.
+   *
+   * @throws ArithmeticException if a balance would overflow; the slice containing it is left
+   *     unchanged, but other slices may already have been updated
+   */
+  public void accrueMinorParallel(long[] minorBalances, byte[] types, ForkJoinPool pool) {
+    checkLengths(minorBalances.length, types.length);
+    pool.invoke(new AccrueTask(null, minorBalances, types, 0, minorBalances.length));
+  }
+
+  /** Returns the configured rate for {@code type}. */
+  public double rateFor(int type) {
+    return ratesByType[type];
+  }
+
+  private void accrueRange(double[] balances, byte[] types, int from, int to) {
+    double[] rates = ratesByType;
+    for (int i = from; i < to; i++) {
+      balances[i] += balances[i] * rates[types[i] & 0xFF];
+    }
+  }
+
+  private void accrueMinorRange(long[] balances, byte[] types, int from, int to) {
+    long[] rates = rateUnitsByType;
+    if (!fitsWithoutOverflow(largestMagnitude(balances, from, to))) {
+      // Rare: redo the bound element by element so that only a real overflow throws.
+      for (int i = from; i < to; i++) {
+        long product = Math.multiplyExact(balances[i], rates[types[i] & 0xFF]);
+        Math.addExact(
+            balances[i], Math.floorDiv(Math.addExact(product, RATE_UNITS / 2), RATE_UNITS));
+      }
+    }
+    // Bounds are checked above, so the hot loop uses plain arithmetic.
+    for (int i = from; i < to; i++) {
+      long b = balances[i];
+      balances[i] = b + Math.floorDiv(b * rates[types[i] & 0xFF] + RATE_UNITS / 2, RATE_UNITS);
+    }
+  }
+
+  /** Returns the largest |balance| in the range, or -1 if one is {@code Long.MIN_VALUE}. */
+  private static long largestMagnitude(long[] balances, int from, int to) {
+    long max = 0;
+    long min = 0;
+    for (int i = from; i < to; i++) {
+      max = Math.max(max, balances[i]);
+      min = Math.min(min, balances[i]);
+    }
+    return min == Long.MIN_VALUE ? -1 : Math.max(max, -min);
+  }
+
+  /** Whether every balance up to {@code magnitude} accrues at every rate without overflow. */
+  private boolean fitsWithoutOverflow(long magnitude) {
+    if (magnitude < 0) {
+      return false;
+    }
+    if (magnitude == 0 || maxAbsRateUnits == 0) {
+      return true;
+    }
+    long limit = (Long.MAX_VALUE - RATE_UNITS) / maxAbsRateUnits;
+    return magnitude <= limit
+        && magnitude <= Long.MAX_VALUE - 1 - magnitude * maxAbsRateUnits / RATE_UNITS;
+  }
+
+  private static void checkLengths(int balances, int types) {
+    if (balances != types) {
+      throw new IllegalArgumentException("Balance and type arrays must have the same length");
+    }
+  }
+
+  private final class AccrueTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] balances;
+    private final long[] minorBalances;
+    private final byte[] types;
+    private final int from;
+    private final int to;
+
+    AccrueTask(double[] balances, long[] minorBalances, byte[] types, int from, int to) {
+      this.balances = balances;
+      this.minorBalances = minorBalances;
+      this.types = types;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= parallelThreshold) {
+        if (balances != null) {
+          accrueRange(balances, types, from, to);
+        } else {
+          accrueMinorRange(minorBalances, types, from, to);
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(
+          new AccrueTask(balances, minorBalances, types, from, mid),
+          new AccrueTask(balances, minorBalances, types, mid, to));
+    }
+  }
+}
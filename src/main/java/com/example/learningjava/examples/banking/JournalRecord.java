@@ -0,0 +1,103 @@
+package com.example.learningjava.examples.banking;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * One account mutation as stored in a {@link TransactionJournal}.
+ *
+ * <p>Records have a fixed binary size: type, sequence, account id, counterparty id, amount and a
+ * CRC32 over the preceding bytes, so a torn write at the end of the file is detected on replay.
+ */
+public final class JournalRecord {
+
+  /** Account created with {@link #getAmount()} as opening balance. */
+  public static final byte OPEN = 1;
+
+  /** Deposit into {@link #getAccountId()}. */
+  public static final byte DEPOSIT = 2;
+
+  /** Withdrawal from {@link #getAccountId()}. */
+  public static final byte WITHDRAW = 3;
+
+  /** Transfer from {@link #getAccountId()} to {@link #getCounterpartyId()}. */
+  public static final byte TRANSFER = 4;
+
+  /** Encoded size of one record in bytes. */
+  public static final int SIZE = 1 + Long.BYTES * 4 + Integer.BYTES;
+
+  private final byte type;
+  private final long sequence;
+  private final long accountId;
+  private final long counterpartyId;
+  private final double amount;
+
+  public JournalRecord(
+      byte type, long sequence, long accountId, long counterpartyId, double amount) {
+    this.type = type;
+    this.sequence = sequence;
+    this.accountId = accountId;
+    this.counterpartyId = counterpartyId;
+    this.amount = amount;
+  }
+
+  public byte getType() {
+    return type;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public long getAccountId() {
+    return accountId;
+  }
+
+  public long getCounterpartyId() {
+    return counterpartyId;
+  }
+
+  public double getAmount() {
+    return amount;
+  }
+
+  static void encode(
+      ByteBuffer buf, byte type, long sequence, long account, long counterparty, double amount) {
+    int start = buf.position();
+    buf.put(type).putLong(sequence).putLong(account).putLong(counterparty).putDouble(amount);
+    CRC32 crc = new CRC32();
+    crc.update(buf.duplicate().position(start).limit(buf.position()));
+    buf.putInt((int) crc.getValue());
+  }
+
+  /** Decodes the record at the buffer position, or returns {@code null} if it is corrupt. */
+  static JournalRecord decode(ByteBuffer buf) {
+    int start = buf.position();
+    CRC32 crc = new CRC32();
+    crc.update(buf.duplicate().position(start).limit(start + SIZE - Integer.BYTES));
+    byte type = buf.get();
+    long sequence = buf.getLong();
+    long account = buf.getLong();
+    long counterparty = buf.getLong();
+    double amount = buf.getDouble();
+    if (buf.getInt() != (int) crc.getValue() || type < OPEN || type > TRANSFER) {
+      return null;
+    }
+    return new JournalRecord(type, sequence, account, counterparty, amount);
+  }
+
+  @Override
+  public String toString() {
+    return "JournalRecord{type="
+        + type
+        + ", seq="
+        + sequence
+        + ", account="
+        + accountId
+        + ", counterparty="
+        + counterpartyId
+        + ", amount="
+        + amount
+        + "}";
+  }
+}
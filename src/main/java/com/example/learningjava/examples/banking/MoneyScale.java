@@ -0,0 +1,75 @@
+package com.example.learningjava.examples.banking;
+
+/**
+ * Fixed-point money scale: the number of decimal digits stored in a {@code long} of minor units.
+ *
+ * <p>With the default {@link #CENTS} scale, {@code 12.34} is held as {@code 1234}.
+ */
+public final class MoneyScale {
+
+  /** Two decimal digits, i.e. cents. */
+  public static final MoneyScale CENTS = new MoneyScale(2);
+
+  /** Largest supported number of decimal digits. */
+  public static final int MAX_DIGITS = 9;
+
+  private final int digits;
+  private final long factor;
+
+  /** Creates a scale with {@code digits} decimal places (0 to {@link #MAX_DIGITS}). */
+  public MoneyScale(int digits) {
+    if (digits < 0 || digits > MAX_DIGITS) {
+      throw new IllegalArgumentException("Scale must be between 0 and " + MAX_DIGITS);
+    }
+    long f = 1;
+    for (int i = 0; i < digits; i++) {
+      f *= 10;
+    }
+    this.digits = digits;
+    this.factor = f;
+  }
+
+  /**
+   * Converts a decimal amount to minor units, rounding half away from zero.
+   *
+   * @throws IllegalArgumentException if {@code amount} is NaN, infinite or too large for a {@code
+   *     long} of minor units
+   */
+  public long toMinor(double amount) {
+    double scaled = amount * factor;
+    // 2^63 is exact as a double; anything at or beyond it would be clamped by Math.round.
+    if (!(Math.abs(scaled) < 0x1p63)) {
+      throw new IllegalArgumentException("Amount out of range: " + amount);
+    }
+    return scaled < 0 ? -Math.round(-scaled) : Math.round(scaled);
+  }
+
+  /** Converts minor units back to a decimal amount. */
+  public double toMajor(long minor) {
+    return (double) minor / factor;
+  }
+
+  public int getDigits() {
+    return digits;
+  }
+
+  /** Returns the number of minor units in one major unit. */
+  public long getFactor() {
+    return factor;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof MoneyScale && ((MoneyScale) o).digits == digits;
+  }
+
+  @Override
+  public int hashCode() {
+    return digits;
+  }
+
+  @Override
+  public String toString() {
+    return "MoneyScale(" + digits + ")";
+  }
+}
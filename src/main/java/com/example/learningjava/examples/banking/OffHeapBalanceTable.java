@@ -0,0 +1,222 @@
+package com.example.learningjava.examples.banking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balances for many accounts kept outside the Java heap, keyed by account id.
+ *
+ * <p>All accounts share one direct {@link ByteBuffer} of fixed 16-byte slots (id, balance in minor
+ * units of a {@link MoneyScale}), found by open addressing on the id. The garbage collector sees a
+ * single buffer object however many accounts there are, so pause times do not grow with the number
+ * of customers. Balances are updated with atomic operations on the buffer, like {@link
+ * FixedPointAccount}, so concurrent callers need no locks. An id is claimed with a compare-and-set
+ * to a reserved marker, its opening balance is written, and only then is the id published, so no
+ * reader sees a new account before its balance.
+ *
+ * <p>Deposits, withdrawals and transfers follow {@link Account} and {@link SavingsAccount#transfer}
+ * and fail with the same messages; withdrawals, like transfers, reject amounts that are not
+ * positive. The table does not grow: it holds at most the capacity given at construction, and ids
+ * must not be negative.
+ */
+public final class OffHeapBalanceTable {
+
+  private static final int SLOT_BYTES = 16;
+  private static final int BALANCE_OFFSET = 8;
+  // Key of a slot whose id is being opened; real keys are id + 1, so never -1.
+  private static final long CLAIMED = -1;
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private final ByteBuffer slots;
+  private final int mask;
+  private final int capacity;
+  private final MoneyScale scale;
+  private final AtomicInteger size = new AtomicInteger();
+
+  public OffHeapBalanceTable(int capacity) {
+    this(capacity, MoneyScale.CENTS);
+  }
+
+  public OffHeapBalanceTable(int capacity, MoneyScale scale) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    // Always keep a free slot so probes for a missing id terminate.
+    long slotCount = Long.highestOneBit(Math.max(capacity + 1L, capacity * 4L / 3) * 2 - 1);
+    if (slotCount * SLOT_BYTES > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Capacity too large: " + capacity);
+    }
+    // Atomic access through the view VarHandle needs 8-byte aligned longs.
+    this.slots =
+        ByteBuffer.allocateDirect((int) (slotCount * SLOT_BYTES) + 8)
+            .alignedSlice(8)
+            .order(ByteOrder.nativeOrder());
+    this.mask = (int) slotCount - 1;
+    this.capacity = capacity;
+    this.scale = scale;
+  }
+
+  /** Adds an account with {@code initialBalance}. */
+  public void open(long id, double initialBalance) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Account id must not be negative: " + id);
+    }
+    long key = id + 1;
+    int i = home(id);
+    while (true) {
+      int offset = i * SLOT_BYTES;
+      long current = (long) LONGS.getVolatile(slots, offset);
+      if (current == key) {
+        throw new IllegalArgumentException("Account already exists: " + id);
+      }
+      if (current == CLAIMED) {
+        // Another open() is filling this slot and it may be for the same id; wait for its key.
+        Thread.onSpinWait();
+        continue;
+      }
+      if (current != 0) {
+        i = (i + 1) & mask;
+        continue;
+      }
+      if (size.incrementAndGet() > capacity) {
+        size.decrementAndGet();
+        throw new IllegalStateException("Balance table is full");
+      }
+      if (LONGS.compareAndSet(slots, offset, 0L, CLAIMED)) {
+        LONGS.setVolatile(slots, offset + BALANCE_OFFSET, scale.toMinor(initialBalance));
+        LONGS.setVolatile(slots, offset, key);
+        return;
+      }
+      // Lost the slot to another open(); re-examine it, it may now hold this id.
+      size.decrementAndGet();
+    }
+  }
+
+  /** Adds {@code amount}; non-positive amounts are ignored like {@link Account#deposit}. */
+  public void deposit(long id, double amount) {
+    long minor = scale.toMinor(amount);
+    int offset = balanceOffset(id);
+    if (minor > 0) {
+      LONGS.getAndAdd(slots, offset, minor);
+    }
+  }
+
+  public void withdraw(long id, double amount) {
+    TransactionStatus status = tryWithdraw(id, amount);
+    if (status == TransactionStatus.INVALID_AMOUNT) {
+      throw new IllegalArgumentException("Withdrawal amount must be positive");
+    }
+    if (status != TransactionStatus.OK) {
+      throw new IllegalArgumentException("Insufficient funds");
+    }
+  }
+
+  /** Same as {@link #withdraw} but reports a refusal instead of throwing. */
+  public TransactionStatus tryWithdraw(long id, double amount) {
+    int offset = balanceOffset(id);
+    long minor = amount <= 0 ? 0 : scale.toMinor(amount);
+    // Amounts that round to zero minor units would succeed without moving any money.
+    if (minor <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    return tryWithdrawMinor(offset, minor)
+        ? TransactionStatus.OK
+        : TransactionStatus.INSUFFICIENT_FUNDS;
+  }
+
+  public void transfer(long fromId, long toId, double amount) {
+    AccountService.throwIfRejected(tryTransfer(fromId, toId, amount));
+  }
+
+  /** Same as {@link #transfer} but reports a refusal as a status instead of throwing. */
+  public TransactionStatus tryTransfer(long fromId, long toId, double amount) {
+    int from = balanceOffset(fromId);
+    int to = balanceOffset(toId);
+    long minor = amount <= 0 ? 0 : scale.toMinor(amount);
+    if (minor <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    if (!tryWithdrawMinor(from, minor)) {
+      return TransactionStatus.INSUFFICIENT_FUNDS;
+    }
+    LONGS.getAndAdd(slots, to, minor);
+    return TransactionStatus.OK;
+  }
+
+  public double balance(long id) {
+    return scale.toMajor(balanceMinor(id));
+  }
+
+  public long balanceMinor(long id) {
+    return (long) LONGS.getVolatile(slots, balanceOffset(id));
+  }
+
+  public boolean contains(long id) {
+    return id >= 0 && find(id) >= 0;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public MoneyScale getScale() {
+    return scale;
+  }
+
+  /** Returns the sum of all balances in minor units. */
+  public long totalMinor() {
+    long total = 0;
+    for (int offset = 0; offset <= mask * SLOT_BYTES; offset += SLOT_BYTES) {
+      long key = (long) LONGS.getVolatile(slots, offset);
+      if (key != 0 && key != CLAIMED) {
+        total += (long) LONGS.getVolatile(slots, offset + BALANCE_OFFSET);
+      }
+    }
+    return total;
+  }
+
+  private boolean tryWithdrawMinor(int offset, long amount) {
+    long current;
+    do {
+      current = (long) LONGS.getVolatile(slots, offset);
+      if (amount > current) {
+        return false;
+      }
+    } while (!LONGS.compareAndSet(slots, offset, current, current - amount));
+    return true;
+  }
+
+  private int balanceOffset(long id) {
+    int slot = id < 0 ? -1 : find(id);
+    if (slot < 0) {
+      throw new IllegalArgumentException("Unknown account: " + id);
+    }
+    return slot * SLOT_BYTES + BALANCE_OFFSET;
+  }
+
+  private int find(long id) {
+    long key = id + 1;
+    for (int i = home(id); ; i = (i + 1) & mask) {
+      long current = (long) LONGS.getVolatile(slots, i * SLOT_BYTES);
+      if (current == key) {
+        return i;
+      }
+      if (current == 0) {
+        return -1;
+      }
+    }
+  }
+
+  private int home(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -2,13 +2,27 @@ package com.example.learningjava.examples.banking;
 
 public class SavingsAccount extends Account implements AccountService {
 
+  /** Interest rate applied by {@link #calculateInterest()} unless another one is given. */
+  public static final double DEFAULT_INTEREST_RATE = 0.04;
+
+  private final double interestRate;
+
   public SavingsAccount() {
+    this(DEFAULT_INTEREST_RATE);
+  }
+
+  public SavingsAccount(double interestRate) {
     super("Savings", 0.0);
+    this.interestRate = interestRate;
   }
 
   @Override
   public void calculateInterest() {
-    balance += balance * 0.04;
+    balance += balance * interestRate;
+  }
+
+  public double getInterestRate() {
+    return interestRate;
   }
 
   @Override
@@ -18,22 +32,13 @@ public class SavingsAccount extends Account implements AccountService {
 
   @Override
   public void withdraw(double amount) {
-    if (amount > balance) {
+    if (tryWithdraw(amount) != TransactionStatus.OK) {
       throw new IllegalArgumentException("Not enough money!");
     }
-    balance -= amount;
   }
 
   @Override
   public void transfer(Account from, Account to, double amount) {
-    if (amount <= 0) {
-      throw new IllegalArgumentException("Transfer amount must be positive");
-    }
-    try {
-      from.withdraw(amount);
-      to.deposit(amount);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalArgumentException("Insufficient balance", e);
-    }
+    AccountService.throwIfRejected(tryTransfer(from, to, amount));
   }
 }
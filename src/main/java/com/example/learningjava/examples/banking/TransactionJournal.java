@@ -0,0 +1,262 @@
+package com.example.learningjava.examples.banking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only write-ahead journal of account mutations with group commit.
+ *
+ * <p>{@link #append} only copies the record into an in-memory batch and returns its sequence
+ * number. A background writer swaps the batch out, writes it with one {@link FileChannel#write} and
+ * makes it durable with one {@link FileChannel#force}; every caller that appended while the
+ * previous sync was running shares the next one. Callers that need durability wait with {@link
+ * #awaitDurable(long)}.
+ */
+public final class TransactionJournal implements Closeable {
+
+  private static final int INITIAL_BATCH_BYTES = JournalRecord.SIZE * 1024;
+
+  private final FileChannel channel;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pending = lock.newCondition();
+  private final Condition synced = lock.newCondition();
+  private final Thread writer;
+
+  private ByteBuffer active = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+  private ByteBuffer flushing = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+  private long nextSequence;
+  private long durableSequence;
+  private long syncCount;
+  private IOException failure;
+  private boolean closed;
+
+  private TransactionJournal(FileChannel channel, long lastSequence) {
+    this.channel = channel;
+    this.nextSequence = lastSequence + 1;
+    this.durableSequence = lastSequence;
+    this.writer = new Thread(this::writeLoop, "journal-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Opens or creates the journal at {@code path}. Any torn record at the end of an existing file is
+   * truncated and numbering continues after the last valid record.
+   */
+  public static TransactionJournal open(Path path) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long[] last = {0};
+      long validBytes = scan(channel, record -> last[0] = record.getSequence());
+      channel.truncate(validBytes);
+      channel.position(validBytes);
+      return new TransactionJournal(channel, last[0]);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Feeds every intact record with a sequence greater than {@code afterSequence} to {@code
+   * consumer}, in order, and returns the last sequence seen (or {@code afterSequence} if none).
+   */
+  public static long replay(Path path, long afterSequence, Consumer<JournalRecord> consumer)
+      throws IOException {
+    if (!Files.exists(path)) {
+      return afterSequence;
+    }
+    long[] last = {afterSequence};
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      scan(
+          channel,
+          record -> {
+            if (record.getSequence() > afterSequence) {
+              consumer.accept(record);
+              last[0] = record.getSequence();
+            }
+          });
+    }
+    return last[0];
+  }
+
+  /** Queues a record for the next group commit and returns its sequence number. */
+  public long append(byte type, long accountId, long counterpartyId, double amount) {
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Journal is closed");
+      }
+      if (active.remaining() < JournalRecord.SIZE) {
+        ByteBuffer bigger = ByteBuffer.allocate(active.capacity() * 2);
+        active.flip();
+        bigger.put(active);
+        active = bigger;
+      }
+      long sequence = nextSequence++;
+      JournalRecord.encode(active, type, sequence, accountId, counterpartyId, amount);
+      pending.signal();
+      return sequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Blocks until the record with {@code sequence} has been forced to disk. */
+  public void awaitDurable(long sequence) throws IOException {
+    lock.lock();
+    try {
+      while (durableSequence < sequence) {
+        if (failure != null) {
+          throw new IOException("Journal write failed", failure);
+        }
+        if (closed && !writer.isAlive()) {
+          throw new IOException("Journal closed before record " + sequence + " was written");
+        }
+        synced.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for journal sync");
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the highest sequence number known to be on disk. */
+  public long getDurableSequence() {
+    lock.lock();
+    try {
+      return durableSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the sequence number of the most recently appended record, durable or not. */
+  public long getLastSequence() {
+    lock.lock();
+    try {
+      return nextSequence - 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns how many {@code force} calls have been made, i.e. the number of group commits. */
+  public long getSyncCount() {
+    lock.lock();
+    try {
+      return syncCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Writes out everything appended so far, then stops the writer and closes the file. */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      closed = true;
+      pending.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    channel.close();
+    if (failure != null) {
+      throw new IOException("Journal write failed", failure);
+    }
+  }
+
+  private void writeLoop() {
+    while (true) {
+      long batchEnd;
+      lock.lock();
+      try {
+        while (active.position() == 0 && !closed) {
+          pending.awaitUninterruptibly();
+        }
+        if (active.position() == 0) {
+          synced.signalAll();
+          return;
+        }
+        ByteBuffer full = active;
+        active = flushing;
+        flushing = full;
+        batchEnd = nextSequence - 1;
+      } finally {
+        lock.unlock();
+      }
+
+      IOException error = null;
+      flushing.flip();
+      try {
+        while (flushing.hasRemaining()) {
+          channel.write(flushing);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        error = e;
+      }
+      flushing.clear();
+
+      lock.lock();
+      try {
+        if (error != null) {
+          failure = error;
+          closed = true;
+          synced.signalAll();
+          return;
+        }
+        durableSequence = batchEnd;
+        syncCount++;
+        synced.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static long scan(FileChannel channel, Consumer<JournalRecord> consumer)
+      throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(JournalRecord.SIZE * 4096);
+    long valid = 0;
+    long position = 0;
+    while (true) {
+      int read = channel.read(buf, position);
+      if (read <= 0 && buf.position() < JournalRecord.SIZE) {
+        return valid;
+      }
+      if (read > 0) {
+        position += read;
+      }
+      buf.flip();
+      while (buf.remaining() >= JournalRecord.SIZE) {
+        JournalRecord record = JournalRecord.decode(buf);
+        if (record == null) {
+          return valid;
+        }
+        consumer.accept(record);
+        valid += JournalRecord.SIZE;
+      }
+      buf.compact();
+    }
+  }
+}
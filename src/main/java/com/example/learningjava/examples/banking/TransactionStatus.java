@@ -0,0 +1,20 @@
+package com.example.learningjava.examples.banking;
+
+/**
+ * Outcome of a non-throwing account operation such as {@link Account#tryWithdraw(double)}.
+ *
+ * <p>Rejections are reported as one of these shared constants, so a refused withdrawal or transfer
+ * allocates nothing and costs about the same as a successful one.
+ */
+public enum TransactionStatus {
+  /** The operation was applied. */
+  OK,
+  /** The source balance was lower than the amount; nothing changed. */
+  INSUFFICIENT_FUNDS,
+  /** The amount was not positive; nothing changed. */
+  INVALID_AMOUNT;
+
+  public boolean isOk() {
+    return this == OK;
+  }
+}
@@ -0,0 +1,378 @@
+package com.example.learningjava.examples.banking;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transfer engine in which each account's balance is written by exactly one thread.
+ *
+ * <p>Accounts {@code 0..accountCount-1} are split across partitions by {@code id % partitions}.
+ * Each partition owns its balances (minor units of a {@link MoneyScale}) and a pre-allocated ring
+ * of request slots. Callers claim a slot with one atomic increment, fill it and publish it; the
+ * partition's writer thread applies published requests in order, so hot accounts never contend on a
+ * lock. A transfer is published to the source account's partition, which debits it and, when the
+ * target lives elsewhere, forwards the credit into the target partition's ring. Until that credit
+ * is applied the money is in flight and missing from both balances.
+ *
+ * <p>Results are acknowledged in batches: a writer completes the futures of everything it applied
+ * in one pass after the pass, rather than one at a time between requests. Semantics and messages
+ * follow {@link AccountService#transfer} and {@link Account#deposit}.
+ *
+ * <p>A request counts as accepted once its submit call returns without throwing; {@link #shutdown}
+ * refuses new requests, and every accepted one is applied before the writers stop.
+ */
+public final class TransferPipeline implements AutoCloseable {
+
+  /** Default number of slots in each partition's ring. */
+  public static final int DEFAULT_RING_SIZE = 1 << 14;
+
+  private static final int DEBIT = 1;
+  private static final int CREDIT = 2;
+  private static final int DEPOSIT = 3;
+  private static final int ACK_BATCH = 1_024;
+
+  private final Partition[] partitions;
+  private final int accountCount;
+  private final MoneyScale scale;
+  private final AtomicLong inFlight = new AtomicLong();
+  private volatile boolean closed;
+
+  public TransferPipeline(int partitionCount, int accountCount) {
+    this(partitionCount, accountCount, DEFAULT_RING_SIZE, MoneyScale.CENTS);
+  }
+
+  public TransferPipeline(int partitionCount, int accountCount, int ringSize, MoneyScale scale) {
+    if (partitionCount <= 0 || accountCount <= 0) {
+      throw new IllegalArgumentException("Partition and account counts must be positive");
+    }
+    if (ringSize <= 0 || Integer.bitCount(ringSize) != 1) {
+      throw new IllegalArgumentException("Ring size must be a power of two");
+    }
+    this.accountCount = accountCount;
+    this.scale = scale;
+    this.partitions = new Partition[partitionCount];
+    for (int p = 0; p < partitionCount; p++) {
+      int owned = (accountCount - p + partitionCount - 1) / partitionCount;
+      partitions[p] = new Partition(p, owned, ringSize);
+    }
+    for (Partition partition : partitions) {
+      partition.thread.start();
+    }
+  }
+
+  /** Publishes a transfer; the future completes once it has been applied or refused. */
+  public CompletableFuture<TransactionStatus> submitTransfer(int fromId, int toId, double amount) {
+    check(fromId);
+    check(toId);
+    long minor = amount <= 0 ? 0 : scale.toMinor(amount);
+    // Amounts that round to zero minor units would succeed without moving any money.
+    if (minor <= 0) {
+      return CompletableFuture.completedFuture(TransactionStatus.INVALID_AMOUNT);
+    }
+    CompletableFuture<TransactionStatus> ticket = new CompletableFuture<>();
+    publish(partitionOf(fromId), DEBIT, fromId, toId, minor, ticket);
+    return ticket;
+  }
+
+  /** Same as {@link #transfer} but reports a refusal as a status instead of throwing. */
+  public TransactionStatus tryTransfer(int fromId, int toId, double amount) {
+    return submitTransfer(fromId, toId, amount).join();
+  }
+
+  public void transfer(int fromId, int toId, double amount) {
+    AccountService.throwIfRejected(tryTransfer(fromId, toId, amount));
+  }
+
+  /** Publishes a deposit; non-positive amounts are ignored like {@link Account#deposit}. */
+  public CompletableFuture<TransactionStatus> submitDeposit(int id, double amount) {
+    check(id);
+    long minor = scale.toMinor(amount);
+    if (minor <= 0) {
+      return CompletableFuture.completedFuture(TransactionStatus.OK);
+    }
+    CompletableFuture<TransactionStatus> ticket = new CompletableFuture<>();
+    publish(partitionOf(id), DEPOSIT, id, -1, minor, ticket);
+    return ticket;
+  }
+
+  public void deposit(int id, double amount) {
+    submitDeposit(id, amount).join();
+  }
+
+  /** Returns the balance as last written by the owning partition. */
+  public double balance(int id) {
+    return scale.toMajor(balanceMinor(id));
+  }
+
+  public long balanceMinor(int id) {
+    check(id);
+    return partitionOf(id).balances.getAcquire(id / partitions.length);
+  }
+
+  public int getAccountCount() {
+    return accountCount;
+  }
+
+  public int getPartitionCount() {
+    return partitions.length;
+  }
+
+  /** Refuses new requests; those already accepted are still applied. */
+  public void shutdown() {
+    closed = true;
+  }
+
+  /**
+   * Shuts down if that has not happened yet, waits for every accepted request (including forwarded
+   * credits) to finish, then stops the writers. Shutting down first means no request can be
+   * accepted after the writers stop, so no ticket is left incomplete and no producer spins on a
+   * ring nobody drains.
+   */
+  public void awaitTermination() throws InterruptedException {
+    shutdown();
+    while (inFlight.get() > 0) {
+      Thread.sleep(1);
+    }
+    for (Partition partition : partitions) {
+      partition.running = false;
+      LockSupport.unpark(partition.thread);
+    }
+    for (Partition partition : partitions) {
+      partition.thread.join();
+    }
+  }
+
+  /**
+   * Shuts down and waits for termination. An interrupt does not cut the wait short, since accepted
+   * requests must still be applied; the thread's interrupt status is restored afterwards.
+   */
+  @Override
+  public void close() {
+    shutdown();
+    boolean interrupted = false;
+    while (true) {
+      try {
+        awaitTermination();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void check(int id) {
+    if (id < 0 || id >= accountCount) {
+      throw new IllegalArgumentException("Unknown account: " + id);
+    }
+  }
+
+  private Partition partitionOf(int id) {
+    return partitions[id % partitions.length];
+  }
+
+  private void publish(
+      Partition partition,
+      int type,
+      int account,
+      int counterparty,
+      long amount,
+      CompletableFuture<TransactionStatus> ticket) {
+    // Register before checking closed; awaitTermination reads them in the opposite order, so either
+    // it waits for this request or this request sees the pipeline closed.
+    inFlight.incrementAndGet();
+    if (closed) {
+      inFlight.decrementAndGet();
+      throw new IllegalStateException("Pipeline is closed");
+    }
+    // The writers keep running while inFlight is positive, so a full ring always drains.
+    while (!partition.tryPublish(type, account, counterparty, amount, ticket)) {
+      Thread.onSpinWait();
+    }
+  }
+
+  /** Credit a writer could not hand to a full ring yet. */
+  private static final class Forward {
+    private final Partition target;
+    private final int account;
+    private final long amount;
+    private final CompletableFuture<TransactionStatus> ticket;
+
+    Forward(
+        Partition target, int account, long amount, CompletableFuture<TransactionStatus> ticket) {
+      this.target = target;
+      this.account = account;
+      this.amount = amount;
+      this.ticket = ticket;
+    }
+  }
+
+  /** One ring and the balances its writer thread owns. */
+  private final class Partition implements Runnable {
+    private final AtomicLongArray balances;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    // Slot i holds the sequence last published into it; -1 before first use.
+    private final AtomicLongArray published;
+    private final int[] types;
+    private final int[] accounts;
+    private final int[] counterparties;
+    private final long[] amounts;
+    private final Object[] tickets;
+    private final ArrayDeque<Forward> forwards = new ArrayDeque<>();
+    private final Object[] acks = new Object[ACK_BATCH];
+    private final TransactionStatus[] ackStatuses = new TransactionStatus[ACK_BATCH];
+    private int ackCount;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    Partition(int index, int ownedAccounts, int ringSize) {
+      this.balances = new AtomicLongArray(ownedAccounts);
+      this.mask = ringSize - 1;
+      this.published = new AtomicLongArray(ringSize);
+      for (int i = 0; i < ringSize; i++) {
+        published.set(i, -1);
+      }
+      this.types = new int[ringSize];
+      this.accounts = new int[ringSize];
+      this.counterparties = new int[ringSize];
+      this.amounts = new long[ringSize];
+      this.tickets = new Object[ringSize];
+      this.thread = new Thread(this, "transfer-partition-" + index);
+      thread.setDaemon(true);
+    }
+
+    /** Claims and fills the next slot, or returns false if the ring is full. */
+    boolean tryPublish(
+        int type,
+        int account,
+        int counterparty,
+        long amount,
+        CompletableFuture<TransactionStatus> ticket) {
+      long seq;
+      do {
+        seq = claimed.get();
+        if (seq - consumed.get() > mask) {
+          return false;
+        }
+      } while (!claimed.compareAndSet(seq, seq + 1));
+      int i = (int) seq & mask;
+      types[i] = type;
+      accounts[i] = account;
+      counterparties[i] = counterparty;
+      amounts[i] = amount;
+      tickets[i] = ticket;
+      published.setRelease(i, seq);
+      return true;
+    }
+
+    @Override
+    public void run() {
+      long next = 0;
+      int idle = 0;
+      while (running || !forwards.isEmpty()) {
+        drainForwards();
+        long end = next;
+        while (end - next <= mask && published.getAcquire((int) end & mask) == end) {
+          end++;
+        }
+        if (end == next) {
+          idle = backOff(idle);
+          continue;
+        }
+        idle = 0;
+        for (long seq = next; seq < end; seq++) {
+          apply((int) seq & mask);
+        }
+        next = end;
+        consumed.set(end);
+        flushAcks();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(int i) {
+      CompletableFuture<TransactionStatus> ticket =
+          (CompletableFuture<TransactionStatus>) tickets[i];
+      tickets[i] = null;
+      int account = accounts[i];
+      long amount = amounts[i];
+      switch (types[i]) {
+        case DEBIT:
+          int slot = account / partitions.length;
+          long balance = balances.get(slot);
+          if (amount > balance) {
+            ack(ticket, TransactionStatus.INSUFFICIENT_FUNDS);
+            return;
+          }
+          balances.setRelease(slot, balance - amount);
+          int to = counterparties[i];
+          Partition target = partitionOf(to);
+          if (target == this) {
+            credit(to, amount);
+            ack(ticket, TransactionStatus.OK);
+          } else if (!forwards.isEmpty()
+              || !target.tryPublish(CREDIT, to, account, amount, ticket)) {
+            // Never block on another writer's ring: two full rings would deadlock.
+            forwards.add(new Forward(target, to, amount, ticket));
+          }
+          return;
+        case CREDIT:
+        case DEPOSIT:
+          credit(account, amount);
+          ack(ticket, TransactionStatus.OK);
+          return;
+        default:
+          throw new IllegalStateException("Unknown request type: " + types[i]);
+      }
+    }
+
+    private void credit(int account, long amount) {
+      int slot = account / partitions.length;
+      balances.setRelease(slot, balances.get(slot) + amount);
+    }
+
+    private void drainForwards() {
+      Forward f;
+      while ((f = forwards.peek()) != null
+          && f.target.tryPublish(CREDIT, f.account, -1, f.amount, f.ticket)) {
+        forwards.poll();
+      }
+    }
+
+    private void ack(CompletableFuture<TransactionStatus> ticket, TransactionStatus status) {
+      acks[ackCount] = ticket;
+      ackStatuses[ackCount++] = status;
+      if (ackCount == ACK_BATCH) {
+        flushAcks();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flushAcks() {
+      for (int i = 0; i < ackCount; i++) {
+        ((CompletableFuture<TransactionStatus>) acks[i]).complete(ackStatuses[i]);
+        acks[i] = null;
+      }
+      inFlight.addAndGet(-ackCount);
+      ackCount = 0;
+    }
+
+    private int backOff(int idle) {
+      if (idle < 100) {
+        Thread.onSpinWait();
+      } else if (idle < 200) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(20_000);
+      }
+      return idle + 1;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.learningjava.examples.banking.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs random transfers against an in-process {@link ShardedLedger}, fails one shard halfway
+ * through, recovers it, and checks that no money was created or lost. Exits with status 1 if the
+ * final total differs from the opening total.
+ *
+ * <p>Arguments: {@code [shards] [accounts] [clients] [transfersPerClient]}.
+ */
+public final class ClusterSimulator {
+
+  private ClusterSimulator() {
+    // Utility class
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int shardCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+    int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+    int clients = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+    int transfersPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+    double opening = 100.0;
+    boolean conserved;
+
+    try (ShardedLedger ledger = new ShardedLedger(shardCount, 50)) {
+      for (long id = 0; id < accounts; id++) {
+        ledger.open(id, opening);
+      }
+      LongAdder committed = new LongAdder();
+      LongAdder rejected = new LongAdder();
+      LongAdder unavailable = new LongAdder();
+      List<Thread> threads = new ArrayList<>();
+      long start = System.nanoTime();
+      for (int c = 0; c < clients; c++) {
+        Thread t =
+            new Thread(
+                () -> {
+                  ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                  for (int i = 0; i < transfersPerClient; i++) {
+                    try {
+                      boolean ok =
+                          ledger
+                              .tryTransfer(
+                                  rnd.nextLong(accounts),
+                                  rnd.nextLong(accounts),
+                                  1 + rnd.nextInt(20))
+                              .isOk();
+                      (ok ? committed : rejected).increment();
+                    } catch (ShardUnavailableException e) {
+                      unavailable.increment();
+                    }
+                  }
+                });
+        threads.add(t);
+        t.start();
+      }
+
+      Thread.sleep(100);
+      ledger.shard(0).fail();
+      System.out.println("Shard 0 failed");
+      Thread.sleep(300);
+      System.out.println("Shard 0 backlog at recovery: " + ledger.shard(0).backlog());
+      ledger.shard(0).recover();
+
+      for (Thread t : threads) {
+        t.join();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      double expected = opening * accounts;
+      double actual = ledger.totalBalance();
+      System.out.println("Committed: " + committed.sum());
+      System.out.println("Rejected: " + rejected.sum());
+      System.out.println("Timed out: " + unavailable.sum());
+      System.out.printf("Throughput: %.0f transfers/s%n", (clients * transfersPerClient) / seconds);
+      System.out.printf("Total balance: %.2f (expected %.2f)%n", actual, expected);
+      // Balances are doubles, so allow rounding error but not a lost or duplicated transfer.
+      conserved = Math.abs(actual - expected) < 0.005;
+    }
+    if (!conserved) {
+      System.err.println("FAILED: money was created or lost");
+      System.exit(1);
+    }
+    System.out.println("OK: total balance conserved");
+  }
+}
@@ -0,0 +1,167 @@
+package com.example.learningjava.examples.banking.cluster;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.AccountBook;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * One simulated node of a {@link ShardedLedger}.
+ *
+ * <p>A node owns the accounts of its shard and applies every request on its own worker thread, in
+ * the order the requests arrive in its inbox queue, so its state needs no locking. A failed node
+ * keeps queuing messages but stops processing them until {@link #recover()}, which is how the
+ * simulator models a crashed or partitioned node whose log is replayed after restart.
+ */
+public final class ShardNode implements AutoCloseable {
+
+  private final int index;
+  private final AccountBook book = new AccountBook();
+  private final Map<Long, Double> reservedDebits = new HashMap<>();
+  private final Map<Long, Long> preparedCredits = new HashMap<>();
+  private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<>();
+  private final Object availability = new Object();
+  private final Thread worker;
+  private volatile boolean available = true;
+  private volatile boolean running = true;
+
+  ShardNode(int index) {
+    this.index = index;
+    this.worker = new Thread(this::run, "shard-" + index);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  /** Stops processing messages; new messages are queued until {@link #recover()}. */
+  public void fail() {
+    available = false;
+  }
+
+  /** Resumes processing, starting with any messages queued while failed. */
+  public void recover() {
+    synchronized (availability) {
+      available = true;
+      availability.notifyAll();
+    }
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  /** Returns the number of messages waiting in the inbox. */
+  public int backlog() {
+    return inbox.size();
+  }
+
+  /** Queues {@code task} for the worker thread. */
+  <T> CompletableFuture<T> submit(Callable<T> task) {
+    CompletableFuture<T> reply = new CompletableFuture<>();
+    inbox.add(
+        () -> {
+          try {
+            reply.complete(task.call());
+          } catch (Exception e) {
+            reply.completeExceptionally(e);
+          }
+        });
+    return reply;
+  }
+
+  AccountBook book() {
+    return book;
+  }
+
+  /** Phase one on the source shard: moves the amount out of the account into a reservation. */
+  TransactionStatus prepareDebit(long txId, long accountId, double amount) {
+    TransactionStatus status = require(accountId).tryWithdraw(amount);
+    if (status == TransactionStatus.OK) {
+      reservedDebits.put(txId, amount);
+    }
+    return status;
+  }
+
+  /** Phase one on the target shard: checks the account exists and remembers the transaction. */
+  TransactionStatus prepareCredit(long txId, long accountId) {
+    require(accountId);
+    preparedCredits.put(txId, accountId);
+    return TransactionStatus.OK;
+  }
+
+  /** Phase two on the source shard: the reservation becomes final. */
+  void commitDebit(long txId) {
+    reservedDebits.remove(txId);
+  }
+
+  /** Phase two on the target shard: applies the credit. */
+  void commitCredit(long txId, double amount) {
+    Long accountId = preparedCredits.remove(txId);
+    if (accountId != null) {
+      book.get(accountId).deposit(amount);
+    }
+  }
+
+  /** Undoes whatever phase one did for {@code txId} on this shard, if anything. */
+  void abort(long txId, long accountId) {
+    Double reserved = reservedDebits.remove(txId);
+    if (reserved != null) {
+      book.get(accountId).deposit(reserved);
+    }
+    preparedCredits.remove(txId);
+  }
+
+  /** Returns the sum of balances plus reserved in-flight debits. */
+  double totalBalance() {
+    double[] total = {0};
+    book.forEachBalance((id, balance) -> total[0] += balance);
+    for (double reserved : reservedDebits.values()) {
+      total[0] += reserved;
+    }
+    return total[0];
+  }
+
+  /** Stops the worker once the messages already queued have been processed. */
+  @Override
+  public void close() {
+    recover();
+    inbox.add(() -> running = false);
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Account require(long accountId) {
+    Account account = book.get(accountId);
+    if (account == null) {
+      throw new IllegalArgumentException("Unknown account: " + accountId);
+    }
+    return account;
+  }
+
+  private void run() {
+    try {
+      while (running) {
+        Runnable message = inbox.take();
+        synchronized (availability) {
+          while (!available) {
+            availability.wait();
+          }
+        }
+        message.run();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.learningjava.examples.banking.cluster;
+
+/** Thrown when a shard does not answer within the ledger's timeout. */
+public class ShardUnavailableException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ShardUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,195 @@
+package com.example.learningjava.examples.banking.cluster;
+
+import com.example.learningjava.examples.banking.AccountService;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account registry partitioned across {@link ShardNode}s by hashed account id.
+ *
+ * <p>Every call is routed to the shard that owns the account. A transfer inside one shard is a
+ * single message; a transfer across shards runs two-phase commit with the calling thread as
+ * coordinator: the source shard reserves the funds and the target shard checks the account, then
+ * both are told to commit, or both to abort if either refused or did not answer in time. Messages
+ * to a shard are processed in order, so an abort always lands after the prepare it undoes.
+ *
+ * <p>This is the id-based counterpart of {@link AccountService}, which addresses accounts by object
+ * reference and so cannot be routed.
+ */
+public final class ShardedLedger implements AutoCloseable {
+
+  /** Default time to wait for a shard to answer. */
+  public static final long DEFAULT_TIMEOUT_MILLIS = 1_000;
+
+  private final List<ShardNode> shards;
+  private final long timeoutMillis;
+  private final AtomicLong transactionIds = new AtomicLong();
+
+  public ShardedLedger(int shardCount) {
+    this(shardCount, DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  public ShardedLedger(int shardCount, long timeoutMillis) {
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("Shard count must be positive");
+    }
+    List<ShardNode> nodes = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      nodes.add(new ShardNode(i));
+    }
+    this.shards = Collections.unmodifiableList(nodes);
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /** Returns the index of the shard that owns {@code accountId}. */
+  public int shardOf(long accountId) {
+    long h = accountId * 0x9E3779B97F4A7C15L;
+    return (int) Math.floorMod(h ^ (h >>> 32), (long) shards.size());
+  }
+
+  public ShardNode shard(int index) {
+    return shards.get(index);
+  }
+
+  public int shardCount() {
+    return shards.size();
+  }
+
+  public void open(long accountId, double initialBalance) {
+    await(owner(accountId).submit(() -> owner(accountId).book().open(accountId, initialBalance)));
+  }
+
+  public void deposit(long accountId, double amount) {
+    ShardNode node = owner(accountId);
+    await(
+        node.submit(
+            () -> {
+              node.book().deposit(accountId, amount);
+              return null;
+            }));
+  }
+
+  public void withdraw(long accountId, double amount) {
+    ShardNode node = owner(accountId);
+    await(
+        node.submit(
+            () -> {
+              node.book().withdraw(accountId, amount);
+              return null;
+            }));
+  }
+
+  public double balance(long accountId) {
+    ShardNode node = owner(accountId);
+    return await(node.submit(() -> node.book().balance(accountId)));
+  }
+
+  public void transfer(long fromId, long toId, double amount) {
+    AccountService.throwIfRejected(tryTransfer(fromId, toId, amount));
+  }
+
+  /**
+   * Same as {@link #transfer} but reports a refusal as a status.
+   *
+   * @throws ShardUnavailableException if a shard did not answer during prepare; the transfer is
+   *     then aborted
+   */
+  public TransactionStatus tryTransfer(long fromId, long toId, double amount) {
+    if (amount <= 0) {
+      return TransactionStatus.INVALID_AMOUNT;
+    }
+    ShardNode source = owner(fromId);
+    ShardNode target = owner(toId);
+    if (source == target) {
+      return await(source.submit(() -> source.book().tryTransfer(fromId, toId, amount)));
+    }
+
+    long txId = transactionIds.incrementAndGet();
+    CompletableFuture<TransactionStatus> debit =
+        source.submit(() -> source.prepareDebit(txId, fromId, amount));
+    CompletableFuture<TransactionStatus> credit =
+        target.submit(() -> target.prepareCredit(txId, toId));
+    TransactionStatus status;
+    try {
+      status = await(debit);
+      await(credit);
+    } catch (RuntimeException e) {
+      source.submit(() -> abortOn(source, txId, fromId));
+      target.submit(() -> abortOn(target, txId, toId));
+      throw e;
+    }
+    if (status != TransactionStatus.OK) {
+      target.submit(() -> abortOn(target, txId, toId));
+      return status;
+    }
+
+    // Decision is commit: queued messages survive a node failure, so this is applied eventually.
+    source.submit(() -> commitDebitOn(source, txId));
+    CompletableFuture<Void> applied = target.submit(() -> commitCreditOn(target, txId, amount));
+    try {
+      await(applied);
+    } catch (ShardUnavailableException e) {
+      // The credit is queued on the target and is applied when it recovers.
+    }
+    return TransactionStatus.OK;
+  }
+
+  /** Returns the total money held across all shards, including in-flight reservations. */
+  public double totalBalance() {
+    double total = 0;
+    for (ShardNode node : shards) {
+      total += await(node.submit(node::totalBalance));
+    }
+    return total;
+  }
+
+  @Override
+  public void close() {
+    for (ShardNode node : shards) {
+      node.close();
+    }
+  }
+
+  private ShardNode owner(long accountId) {
+    return shards.get(shardOf(accountId));
+  }
+
+  private static Void abortOn(ShardNode node, long txId, long accountId) {
+    node.abort(txId, accountId);
+    return null;
+  }
+
+  private static Void commitDebitOn(ShardNode node, long txId) {
+    node.commitDebit(txId);
+    return null;
+  }
+
+  private static Void commitCreditOn(ShardNode node, long txId, double amount) {
+    node.commitCredit(txId, amount);
+    return null;
+  }
+
+  private <T> T await(CompletableFuture<T> reply) {
+    try {
+      return reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw new ShardUnavailableException("Shard did not answer within " + timeoutMillis + " ms");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ShardUnavailableException("Interrupted waiting for shard");
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.learningjava.examples.banking.metrics;
+
+import com.example.learningjava.io.ReportSink;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, rejection counts and latency histograms per {@link Operation}.
+ *
+ * <p>Counters are {@link LongAdder}s, which spread concurrent increments over per-thread cells
+ * instead of contending on one value, and latencies go into a {@link LatencyHistogram}. Recording
+ * never allocates or locks, so an instance can stay attached to production services. Use {@link
+ * #snapshot()} to read consistent-enough copies and {@link Snapshot#export} to write them out.
+ */
+public final class BankingMetrics {
+
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  private final LongAdder[] calls = new LongAdder[OPERATIONS.length];
+  private final LongAdder[] rejections = new LongAdder[OPERATIONS.length];
+  private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+
+  public BankingMetrics() {
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      calls[i] = new LongAdder();
+      rejections[i] = new LongAdder();
+      latencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /** Records one call of {@code operation} that took {@code nanos}. */
+  public void record(Operation operation, long nanos, boolean rejected) {
+    int i = operation.ordinal();
+    calls[i].increment();
+    if (rejected) {
+      rejections[i].increment();
+    }
+    latencies[i].record(nanos);
+  }
+
+  public Snapshot snapshot() {
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    for (Operation op : OPERATIONS) {
+      int i = op.ordinal();
+      stats.put(
+          op, new OperationStats(calls[i].sum(), rejections[i].sum(), latencies[i].snapshot()));
+    }
+    return new Snapshot(stats);
+  }
+
+  /** Counts and latency distribution of one operation. */
+  public static final class OperationStats {
+    private final long calls;
+    private final long rejections;
+    private final LatencyHistogram.Snapshot latency;
+
+    OperationStats(long calls, long rejections, LatencyHistogram.Snapshot latency) {
+      this.calls = calls;
+      this.rejections = rejections;
+      this.latency = latency;
+    }
+
+    public long getCalls() {
+      return calls;
+    }
+
+    public long getRejections() {
+      return rejections;
+    }
+
+    /** Latency in nanoseconds. */
+    public LatencyHistogram.Snapshot getLatency() {
+      return latency;
+    }
+  }
+
+  /** Point-in-time copy of all metrics. */
+  public static final class Snapshot {
+    private final Map<Operation, OperationStats> stats;
+
+    Snapshot(Map<Operation, OperationStats> stats) {
+      this.stats = stats;
+    }
+
+    public OperationStats get(Operation operation) {
+      return stats.get(operation);
+    }
+
+    /**
+     * Writes a header and one row per operation: calls, rejections, then mean, p50, p99, p99.9 and
+     * max latency in microseconds.
+     */
+    public void export(ReportSink sink) throws IOException {
+      sink.cell("operation").cell("calls").cell("rejections").cell("mean_us").cell("p50_us");
+      sink.cell("p99_us").cell("p999_us").cell("max_us").endRow();
+      for (Map.Entry<Operation, OperationStats> e : stats.entrySet()) {
+        OperationStats s = e.getValue();
+        LatencyHistogram.Snapshot l = s.latency;
+        sink.cell(e.getKey().name()).cell(s.calls).cell(s.rejections);
+        sink.cell(l.getMean() / 1_000.0, 3).cell(l.percentile(0.5) / 1_000.0, 3);
+        sink.cell(l.percentile(0.99) / 1_000.0, 3).cell(l.percentile(0.999) / 1_000.0, 3);
+        sink.cell(l.getMax() / 1_000.0, 3).endRow();
+      }
+      sink.flush();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.learningjava.examples.banking.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one banking operation.
+ *
+ * <p>Only operations slower than the threshold are written, so the event can stay enabled in
+ * production; lower it in a JFR settings file to see every call. When recording is off, creating
+ * and timing the event costs next to nothing.
+ */
+@Name("com.example.learningjava.BankingOperation")
+@Label("Banking Operation")
+@Category({"Banking"})
+@Description("A deposit, withdrawal, transfer or interest calculation")
+@Threshold("1 ms")
+class BankingOperationEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Amount")
+  double amount;
+
+  @Label("Rejected")
+  boolean rejected;
+}
@@ -0,0 +1,119 @@
+package com.example.learningjava.examples.banking.metrics;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.AccountService;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import com.example.learningjava.examples.exceptions.InsufficientBalanceException;
+
+/**
+ * {@link AccountService} decorator that times every call into {@link BankingMetrics} and emits a
+ * {@link BankingOperationEvent} for slow ones.
+ *
+ * <p>A call counts as rejected when it throws or, for {@link #tryTransfer}, returns a status other
+ * than {@link TransactionStatus#OK}. Exceptions are rethrown unchanged, so callers see exactly what
+ * the wrapped service does.
+ */
+public final class InstrumentedAccountService implements AccountService {
+
+  private final AccountService delegate;
+  private final BankingMetrics metrics;
+
+  public InstrumentedAccountService(AccountService delegate, BankingMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+  }
+
+  public BankingMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void deposit(double amount) {
+    long start = System.nanoTime();
+    BankingOperationEvent event = begin();
+    boolean rejected = true;
+    try {
+      delegate.deposit(amount);
+      rejected = false;
+    } finally {
+      finish(Operation.DEPOSIT, start, event, amount, rejected);
+    }
+  }
+
+  @Override
+  public void withdraw(double amount) throws InsufficientBalanceException {
+    long start = System.nanoTime();
+    BankingOperationEvent event = begin();
+    boolean rejected = true;
+    try {
+      delegate.withdraw(amount);
+      rejected = false;
+    } finally {
+      finish(Operation.WITHDRAW, start, event, amount, rejected);
+    }
+  }
+
+  @Override
+  public void transfer(Account from, Account to, double amount) {
+    long start = System.nanoTime();
+    BankingOperationEvent event = begin();
+    boolean rejected = true;
+    try {
+      delegate.transfer(from, to, amount);
+      rejected = false;
+    } finally {
+      finish(Operation.TRANSFER, start, event, amount, rejected);
+    }
+  }
+
+  @Override
+  public TransactionStatus tryTransfer(Account from, Account to, double amount) {
+    long start = System.nanoTime();
+    BankingOperationEvent event = begin();
+    TransactionStatus status = null;
+    try {
+      status = delegate.tryTransfer(from, to, amount);
+      return status;
+    } finally {
+      finish(Operation.TRANSFER, start, event, amount, status != TransactionStatus.OK);
+    }
+  }
+
+  /**
+   * Runs {@code account.calculateInterest()} and records it as {@link
+   * Operation#CALCULATE_INTEREST}.
+   */
+  public void calculateInterest(Account account) {
+    long start = System.nanoTime();
+    BankingOperationEvent event = begin();
+    boolean rejected = true;
+    try {
+      account.calculateInterest();
+      rejected = false;
+    } finally {
+      finish(Operation.CALCULATE_INTEREST, start, event, 0.0, rejected);
+    }
+  }
+
+  private static BankingOperationEvent begin() {
+    BankingOperationEvent event = new BankingOperationEvent();
+    event.begin();
+    return event;
+  }
+
+  private void finish(
+      Operation operation,
+      long start,
+      BankingOperationEvent event,
+      double amount,
+      boolean rejected) {
+    metrics.record(operation, System.nanoTime() - start, rejected);
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation.name();
+      event.amount = amount;
+      event.rejected = rejected;
+      event.commit();
+    }
+  }
+}
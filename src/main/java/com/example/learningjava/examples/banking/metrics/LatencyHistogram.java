@@ -0,0 +1,128 @@
+package com.example.learningjava.examples.banking.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with log-linear buckets, in the style of HdrHistogram.
+ *
+ * <p>Values below 64 get one bucket each; above that every power of two is split into 32 equal
+ * buckets, so any recorded value is reported within about 3% using a fixed 1,888 counters that
+ * cover the whole {@code long} range.
+ *
+ * <p>Recording computes the bucket, increments it, adds the value to a {@link LongAdder} sum and
+ * offers it to a {@link LongAccumulator} maximum; none of that allocates or locks. The counters are
+ * striped like the adder's cells: each thread increments its bucket in one of a few rows, picked by
+ * hashing its thread id, so threads recording the same latency do not all write one cache line.
+ * {@link #snapshot()} adds the rows together. The price is one row of counters per stripe, about 15
+ * KB each.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BITS = 5;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int LINEAR_LIMIT = 2 * SUB_COUNT;
+  static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BITS - 1) * SUB_COUNT;
+  // A power of two at least the processor count, capped to bound the memory per histogram.
+  private static final int STRIPES =
+      Math.min(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  // STRIPES rows of BUCKET_COUNT counters; rows are far apart, so stripes share no cache lines.
+  private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /** Records one value; negative values are recorded as zero. */
+  public void record(long value) {
+    long v = Math.max(value, 0);
+    counts.incrementAndGet(stripe() * BUCKET_COUNT + bucketOf(v));
+    sum.add(v);
+    max.accumulate(v);
+  }
+
+  /** Copies the current state; concurrent recording may be partly included. */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int s = 0; s < STRIPES; s++) {
+      int row = s * BUCKET_COUNT;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        long c = counts.get(row + i);
+        copy[i] += c;
+        total += c;
+      }
+    }
+    return new Snapshot(copy, total, sum.sum(), max.get());
+  }
+
+  private static int stripe() {
+    long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return (int) (h >>> 32) & (STRIPES - 1);
+  }
+
+  static int bucketOf(long v) {
+    if (v < LINEAR_LIMIT) {
+      return (int) v;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+    return LINEAR_LIMIT + (shift - 1) * SUB_COUNT + (int) ((v >>> shift) - SUB_COUNT);
+  }
+
+  /** Highest value that falls into bucket {@code index}. */
+  static long upperBound(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int shift = (index - LINEAR_LIMIT) / SUB_COUNT + 1;
+    long top = (index - LINEAR_LIMIT) % SUB_COUNT + SUB_COUNT;
+    long next = (top + 1) << shift;
+    return next <= 0 ? Long.MAX_VALUE : next - 1;
+  }
+
+  /** Immutable copy of a histogram. */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    Snapshot(long[] counts, long count, long sum, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value at quantile {@code q} (0..1): the upper bound of the bucket holding it,
+     * capped at the recorded maximum.
+     */
+    public long percentile(double q) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(q * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(upperBound(i), max);
+        }
+      }
+      return max;
+    }
+  }
+}
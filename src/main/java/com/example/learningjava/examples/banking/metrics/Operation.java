@@ -0,0 +1,9 @@
+package com.example.learningjava.examples.banking.metrics;
+
+/** Banking operations that {@link BankingMetrics} tracks separately. */
+public enum Operation {
+  DEPOSIT,
+  WITHDRAW,
+  TRANSFER,
+  CALCULATE_INTEREST
+}
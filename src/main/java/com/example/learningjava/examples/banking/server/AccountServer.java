@@ -0,0 +1,270 @@
+package com.example.learningjava.examples.banking.server;
+
+import com.example.learningjava.examples.banking.AccountBook;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Line-based TCP front end for an {@link AccountBook} on the loopback interface.
+ *
+ * <p>Each request is one line and gets exactly one response line, in order:
+ *
+ * <pre>
+ * OPEN id amount        -&gt; OK
+ * DEP id amount         -&gt; OK
+ * WD id amount          -&gt; OK | ERR message
+ * XFER from to amount   -&gt; OK | REJ INSUFFICIENT_FUNDS | REJ INVALID_AMOUNT
+ * BAL id                -&gt; OK balance
+ * </pre>
+ *
+ * <p>Clients may pipeline: send many requests before reading any response. The server applies every
+ * request already buffered on the connection (up to {@value #MAX_BATCH}) as one {@link
+ * AccountBook#beginBatch() book batch}, waits once for the batch to be durable when the book has a
+ * journal, and then flushes all the responses with one write. A deep pipeline therefore costs one
+ * journal sync and one write system call per batch rather than per request. Request lines longer
+ * than {@value #MAX_LINE_LENGTH} characters get {@code ERR Line too long} and the connection is
+ * closed, so a client cannot make the server buffer an unbounded line. Each connection runs on its
+ * own task; on a runtime with virtual threads those tasks are virtual threads, otherwise they fall
+ * back to a cached pool of daemon platform threads. {@link #close} stops accepting and closes every
+ * open connection.
+ */
+public final class AccountServer implements AutoCloseable {
+
+  /** Longest accepted request line, excluding the line break. */
+  public static final int MAX_LINE_LENGTH = 256;
+
+  /** Most requests applied and acknowledged together. */
+  public static final int MAX_BATCH = 1_024;
+
+  private final AccountBook book;
+  private final ServerSocket serverSocket;
+  private final ExecutorService connections;
+  private final Thread acceptor;
+  private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+  /** Starts a server for {@code book} on loopback {@code port} (0 picks a free port). */
+  public AccountServer(AccountBook book, int port) throws IOException {
+    this.book = book;
+    this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    this.connections = newConnectionExecutor();
+    this.acceptor = new Thread(this::acceptLoop, "account-server-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+    try (AccountServer server = new AccountServer(new AccountBook(), port)) {
+      System.out.println("Listening on " + server.getPort());
+      Thread.currentThread().join();
+    }
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public AccountBook getBook() {
+    return book;
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    connections.shutdownNow();
+    for (Socket socket : clients) {
+      closeQuietly(socket);
+    }
+  }
+
+  private void acceptLoop() {
+    long backoffMillis = 0;
+    while (!serverSocket.isClosed()) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+        backoffMillis = 0;
+      } catch (IOException e) {
+        if (serverSocket.isClosed()) {
+          return;
+        }
+        // For example out of file descriptors: keep serving existing clients and retry later.
+        backoffMillis = Math.min(Math.max(backoffMillis * 2, 10), 1_000);
+        System.err.println("accept failed, retrying in " + backoffMillis + " ms: " + e);
+        try {
+          Thread.sleep(backoffMillis);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+        continue;
+      }
+      clients.add(socket);
+      // close() may have run between accept and add; it would have missed this socket.
+      if (serverSocket.isClosed()) {
+        clients.remove(socket);
+        closeQuietly(socket);
+        return;
+      }
+      try {
+        socket.setTcpNoDelay(true);
+        connections.execute(() -> serve(socket));
+      } catch (IOException | RejectedExecutionException e) {
+        clients.remove(socket);
+        closeQuietly(socket);
+      }
+    }
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // Already broken; nothing more to release.
+    }
+  }
+
+  private void serve(Socket socket) {
+    int batched = 0;
+    try (socket;
+        BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+      StringBuilder line = new StringBuilder();
+      StringBuilder responses = new StringBuilder();
+      boolean tooLong = false;
+      while (true) {
+        int read = readLine(in, line);
+        if (read == LINE) {
+          if (batched == 0) {
+            book.beginBatch();
+          }
+          responses.append(handle(line.toString())).append('\n');
+          batched++;
+        } else if (read == TOO_LONG) {
+          tooLong = true;
+        }
+        // Acknowledge once the client has nothing more queued: one sync and write per batch.
+        if (batched > 0 && (read != LINE || batched == MAX_BATCH || !in.ready())) {
+          batched = 0;
+          book.endBatch();
+          out.write(responses.toString());
+          out.flush();
+          responses.setLength(0);
+        }
+        if (read != LINE) {
+          break;
+        }
+      }
+      if (tooLong) {
+        out.write("ERR Line too long\n");
+        out.flush();
+      }
+    } catch (IOException | UncheckedIOException e) {
+      // Client went away, or the journal failed and nothing in the batch may be acknowledged.
+    } finally {
+      clients.remove(socket);
+      if (batched > 0) {
+        closeBatchQuietly();
+      }
+    }
+  }
+
+  /** Closes a batch left open by a dropped connection so the pooled thread can start another. */
+  private void closeBatchQuietly() {
+    try {
+      book.endBatch();
+    } catch (UncheckedIOException e) {
+      // Its responses were never sent, so there is nobody to tell.
+    }
+  }
+
+  private static final int LINE = 0;
+  private static final int END = 1;
+  private static final int TOO_LONG = 2;
+
+  /** Reads one line into {@code line} without its line break, refusing to buffer past the limit. */
+  private static int readLine(BufferedReader in, StringBuilder line) throws IOException {
+    line.setLength(0);
+    int c;
+    while ((c = in.read()) != -1) {
+      if (c == '\n') {
+        int last = line.length() - 1;
+        if (last >= 0 && line.charAt(last) == '\r') {
+          line.setLength(last);
+        }
+        return LINE;
+      }
+      if (line.length() > MAX_LINE_LENGTH) {
+        return TOO_LONG;
+      }
+      line.append((char) c);
+    }
+    return line.length() > 0 ? LINE : END;
+  }
+
+  /** Applies one request line to the book and returns the response line. */
+  String handle(String line) {
+    String[] parts = line.trim().split("\\s+");
+    try {
+      switch (parts[0]) {
+        case "OPEN":
+          book.open(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+          return "OK";
+        case "DEP":
+          book.deposit(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+          return "OK";
+        case "WD":
+          book.withdraw(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+          return "OK";
+        case "XFER":
+          TransactionStatus status =
+              book.tryTransfer(
+                  Long.parseLong(parts[1]), Long.parseLong(parts[2]), Double.parseDouble(parts[3]));
+          return status.isOk() ? "OK" : "REJ " + status;
+        case "BAL":
+          return "OK " + book.balance(Long.parseLong(parts[1]));
+        default:
+          return "ERR Unknown command: " + parts[0];
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return "ERR " + e.getMessage();
+    } catch (ArrayIndexOutOfBoundsException e) {
+      return "ERR Missing argument";
+    }
+  }
+
+  /**
+   * Uses {@code Executors.newVirtualThreadPerTaskExecutor()} when the runtime has it. It is looked
+   * up reflectively because the project still compiles for Java 17.
+   */
+  private static ExecutorService newConnectionExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      ThreadFactory daemons =
+          r -> {
+            Thread t = new Thread(r, "account-server-connection");
+            t.setDaemon(true);
+            return t;
+          };
+      return Executors.newCachedThreadPool(daemons);
+    }
+  }
+}
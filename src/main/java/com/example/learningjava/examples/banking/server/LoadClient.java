@@ -0,0 +1,234 @@
+package com.example.learningjava.examples.banking.server;
+
+import com.example.learningjava.examples.banking.AccountBook;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Drives an {@link AccountServer} with many concurrent pipelined connections and reports latency
+ * percentiles.
+ *
+ * <p>Each client opens its own account, then sends windows of {@code pipeline} requests (balance
+ * checks, deposits and transfers to other clients' accounts) in one write and reads the whole
+ * window back. A request's latency runs from the write of its window to the arrival of its
+ * response, so it includes queueing behind earlier requests on the same connection.
+ *
+ * <p>Arguments: {@code [clients] [requestsPerClient] [pipeline] [port]}; without a port an
+ * in-process server is started.
+ */
+public final class LoadClient {
+
+  /** Latency summary of one run. */
+  public static final class Result {
+    private final long[] sortedNanos;
+    private final long elapsedNanos;
+    private final long errors;
+    private final long deposits;
+
+    Result(long[] sortedNanos, long elapsedNanos, long errors, long deposits) {
+      this.sortedNanos = sortedNanos;
+      this.elapsedNanos = elapsedNanos;
+      this.errors = errors;
+      this.deposits = deposits;
+    }
+
+    public int getRequests() {
+      return sortedNanos.length;
+    }
+
+    /** Responses that were not {@code OK} or {@code REJ}. */
+    public long getErrors() {
+      return errors;
+    }
+
+    /** Deposits of 1 the server acknowledged with {@code OK}. */
+    public long getDeposits() {
+      return deposits;
+    }
+
+    public double getThroughputPerSecond() {
+      return sortedNanos.length / (elapsedNanos / 1e9);
+    }
+
+    /** Returns the latency at quantile {@code q} (0..1) in microseconds. */
+    public double percentileMicros(double q) {
+      if (sortedNanos.length == 0) {
+        return 0.0;
+      }
+      int index = (int) Math.ceil(q * sortedNanos.length) - 1;
+      return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d requests, %d errors, %.0f req/s, p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus"
+              + " max=%.1fus",
+          getRequests(),
+          errors,
+          getThroughputPerSecond(),
+          percentileMicros(0.50),
+          percentileMicros(0.90),
+          percentileMicros(0.99),
+          percentileMicros(0.999),
+          percentileMicros(1.0));
+    }
+  }
+
+  private LoadClient() {
+    // Utility class
+  }
+
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+    int requests = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+    int pipeline = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+    if (args.length > 3) {
+      System.out.println(run(Integer.parseInt(args[3]), clients, requests, pipeline));
+      return;
+    }
+    try (AccountServer server = new AccountServer(new AccountBook(), 0)) {
+      System.out.println(run(server.getPort(), clients, requests, pipeline));
+    }
+  }
+
+  /** Runs {@code clients} connections against the loopback server on {@code port}. */
+  public static Result run(int port, int clients, int requestsPerClient, int pipeline)
+      throws InterruptedException {
+    long[][] latencies = new long[clients][];
+    long[] errors = new long[clients];
+    long[] deposits = new long[clients];
+    CountDownLatch opened = new CountDownLatch(clients);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(clients);
+    for (int c = 0; c < clients; c++) {
+      int id = c;
+      Thread t =
+          new Thread(
+              () -> {
+                latencies[id] = new long[0];
+                Socket socket = null;
+                try {
+                  socket = connect(port, id);
+                } catch (IOException e) {
+                  errors[id] = requestsPerClient;
+                } finally {
+                  opened.countDown();
+                }
+                if (socket == null) {
+                  return;
+                }
+                try (Socket s = socket) {
+                  start.await();
+                  latencies[id] =
+                      drive(s, id, clients, requestsPerClient, pipeline, errors, deposits);
+                } catch (IOException | InterruptedException e) {
+                  errors[id] = requestsPerClient;
+                }
+              },
+              "load-client-" + c);
+      t.setDaemon(true);
+      threads.add(t);
+      t.start();
+    }
+    opened.await();
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Thread t : threads) {
+      t.join();
+    }
+    long elapsed = System.nanoTime() - begin;
+
+    int total = 0;
+    for (long[] l : latencies) {
+      total += l.length;
+    }
+    long[] all = new long[total];
+    int pos = 0;
+    long errorCount = 0;
+    long depositCount = 0;
+    for (int c = 0; c < clients; c++) {
+      System.arraycopy(latencies[c], 0, all, pos, latencies[c].length);
+      pos += latencies[c].length;
+      errorCount += errors[c];
+      depositCount += deposits[c];
+    }
+    Arrays.sort(all);
+    return new Result(all, elapsed, errorCount, depositCount);
+  }
+
+  /** Connects and opens the client's own account. */
+  private static Socket connect(int port, int id) throws IOException {
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    socket.setTcpNoDelay(true);
+    OutputStream out = socket.getOutputStream();
+    out.write(("OPEN " + id + " 1000\n").getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+    // Read byte by byte so no later response is left behind in a discarded buffer.
+    int b;
+    while ((b = socket.getInputStream().read()) != '\n' && b != -1) {
+      // skip the OK
+    }
+    return socket;
+  }
+
+  private static long[] drive(
+      Socket socket,
+      int id,
+      int clients,
+      int requests,
+      int pipeline,
+      long[] errors,
+      long[] deposits)
+      throws IOException {
+    OutputStream out = socket.getOutputStream();
+    BufferedReader in =
+        new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+    Random random = new Random(id);
+    long[] result = new long[requests];
+    StringBuilder window = new StringBuilder();
+    boolean[] isDeposit = new boolean[pipeline];
+    for (int sent = 0; sent < requests; ) {
+      int batch = Math.min(pipeline, requests - sent);
+      window.setLength(0);
+      for (int i = 0; i < batch; i++) {
+        int kind = random.nextInt(4);
+        isDeposit[i] = kind == 2;
+        if (kind < 2) {
+          window.append("BAL ").append(id);
+        } else if (kind == 2) {
+          window.append("DEP ").append(id).append(" 1");
+        } else {
+          window.append("XFER ").append(id).append(' ').append(random.nextInt(clients));
+          window.append(" 1");
+        }
+        window.append('\n');
+      }
+      long writtenAt = System.nanoTime();
+      out.write(window.toString().getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+      for (int i = 0; i < batch; i++) {
+        String response = in.readLine();
+        result[sent + i] = System.nanoTime() - writtenAt;
+        if (response == null || !(response.startsWith("OK") || response.startsWith("REJ"))) {
+          errors[id]++;
+        } else if (isDeposit[i] && response.equals("OK")) {
+          deposits[id]++;
+        }
+      }
+      sent += batch;
+    }
+    return result;
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.learningjava.examples.collections;
 
 import com.example.learningjava.model.Student;
+import com.example.learningjava.registry.IntObjectMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,5 +26,13 @@ public class MapDemo {
     for (Map.Entry<Integer, Student> entry : studentMap.entrySet()) {
       System.out.println("Roll: " + entry.getKey() + " Name: " + entry.getValue().getName());
     }
+
+    // Roll numbers are small and contiguous: index students directly by int, no boxing
+    IntObjectMap<Student> byRoll = IntObjectMap.withKeyRange(1, 2);
+    byRoll.put(1, s1);
+    byRoll.put(2, s2);
+
+    System.out.println(byRoll.get(2).getName());
+    byRoll.forEach((roll, s) -> System.out.println("Roll: " + roll + " Name: " + s.getName()));
   }
 }
@@ -1,5 +1,6 @@
 package com.example.learningjava.examples.collections;
 
+import com.example.learningjava.registry.EmailRegistry;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -16,5 +17,11 @@ public class SetDemo {
     for (String email : emails) {
       System.out.println(email);
     }
+
+    // Large-scale dedupe: keep 64-bit fingerprints instead of the strings themselves
+    EmailRegistry registry = new EmailRegistry(1_000, true, null);
+    System.out.println(registry.add("a@gmail.com")); // true
+    System.out.println(registry.add(" A@Gmail.com ")); // false, same address once normalized
+    System.out.println("Registered: " + registry.size());
   }
 }
@@ -1,5 +1,7 @@
 package com.example.learningjava.examples.collections;
 
+import com.example.learningjava.model.StudentRecord;
+
 public class Student implements Comparable<Student> {
 
   private String name;
@@ -23,9 +25,25 @@ public class Student implements Comparable<Student> {
     }
   }
 
+  /** Returns an immutable single-subject {@link StudentRecord} for this student. */
+  public StudentRecord toRecord() {
+    return StudentRecord.of(name, marks);
+  }
+
+  /**
+   * Creates a student from {@code record}, taking its average rounded to whole marks. As with
+   * {@link #setMarks}, an average outside 0..100 leaves the marks at 0.
+   */
+  public static Student fromRecord(StudentRecord record) {
+    Student student = new Student();
+    student.setName(record.getName());
+    student.setMarks((int) Math.round(record.calculateAverage()));
+    return student;
+  }
+
   // NATURAL SORT: by marks (ascending)
   @Override
   public int compareTo(Student other) {
-    return this.marks - other.marks;
+    return Integer.compare(this.marks, other.marks);
   }
 }
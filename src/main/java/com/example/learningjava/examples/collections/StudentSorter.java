@@ -0,0 +1,157 @@
+package com.example.learningjava.examples.collections;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sorting specialized for {@link Student}.
+ *
+ * <p>Marks are bounded to 0..100, so {@link #sortByMarks} uses a stable counting sort: two linear
+ * passes and no comparisons. Name sorts compute each student's sort key once up front instead of on
+ * every comparison: {@link #sortByName(List)} packs eight characters (after any prefix all names
+ * share) into two {@code long}s and only compares full strings when those are equal, and {@link
+ * #sortByName(List, Collator)} builds one {@link CollationKey} per student. All sorts are stable
+ * and give the same order as {@code Collections.sort} with the matching comparator.
+ */
+public final class StudentSorter {
+
+  private static final int MAX_MARK = 100;
+
+  private StudentSorter() {
+    // Utility class
+  }
+
+  /** Sorts by marks ascending, like {@code Collections.sort(students)}. */
+  public static void sortByMarks(List<Student> students) {
+    countingSort(students, false);
+  }
+
+  /** Sorts by marks descending, keeping the original order among equal marks. */
+  public static void sortByMarksDescending(List<Student> students) {
+    countingSort(students, true);
+  }
+
+  /** Sorts by name in {@link String#compareTo} order, like {@link ComparatorByName}. */
+  public static void sortByName(List<Student> students) {
+    int n = students.size();
+    if (n < 2) {
+      return;
+    }
+    Student[] input = students.toArray(new Student[0]);
+    String first = input[0].getName();
+    int common = first.length();
+    for (Student s : input) {
+      String name = s.getName();
+      int limit = Math.min(common, name.length());
+      int j = 0;
+      while (j < limit && name.charAt(j) == first.charAt(j)) {
+        j++;
+      }
+      common = j;
+    }
+    NameKey[] keys = new NameKey[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = new NameKey(input[i], common);
+    }
+    Arrays.sort(keys, NameKey.ORDER);
+    writeBack(students, keys);
+  }
+
+  /** Sorts by name using {@code collator}, computing each collation key once. */
+  public static void sortByName(List<Student> students, Collator collator) {
+    int n = students.size();
+    CollatedKey[] keys = new CollatedKey[n];
+    int i = 0;
+    for (Student s : students) {
+      keys[i++] = new CollatedKey(s, collator.getCollationKey(s.getName()));
+    }
+    Arrays.sort(keys, Comparator.comparing(k -> k.key));
+    ListIterator<Student> it = students.listIterator();
+    for (CollatedKey k : keys) {
+      it.next();
+      it.set(k.student);
+    }
+  }
+
+  private static void countingSort(List<Student> students, boolean descending) {
+    int[] starts = new int[MAX_MARK + 2];
+    Student[] input = students.toArray(new Student[0]);
+    for (Student s : input) {
+      starts[bucket(s, descending) + 1]++;
+    }
+    for (int m = 1; m < starts.length; m++) {
+      starts[m] += starts[m - 1];
+    }
+    Student[] sorted = new Student[input.length];
+    for (Student s : input) {
+      sorted[starts[bucket(s, descending)]++] = s;
+    }
+    ListIterator<Student> it = students.listIterator();
+    for (Student s : sorted) {
+      it.next();
+      it.set(s);
+    }
+  }
+
+  private static int bucket(Student s, boolean descending) {
+    return descending ? MAX_MARK - s.getMarks() : s.getMarks();
+  }
+
+  private static void writeBack(List<Student> students, NameKey[] keys) {
+    ListIterator<Student> it = students.listIterator();
+    for (NameKey k : keys) {
+      it.next();
+      it.set(k.student);
+    }
+  }
+
+  /**
+   * Name with eight UTF-16 units packed into two {@code long}s for cheap comparison, taken after
+   * the prefix that every name in the list shares.
+   */
+  private static final class NameKey {
+    static final Comparator<NameKey> ORDER =
+        (a, b) -> {
+          int c = Long.compareUnsigned(a.high, b.high);
+          if (c == 0) {
+            c = Long.compareUnsigned(a.low, b.low);
+          }
+          return c != 0 ? c : a.name.compareTo(b.name);
+        };
+
+    private final long high;
+    private final long low;
+    private final String name;
+    private final Student student;
+
+    NameKey(Student student, int skip) {
+      this.student = student;
+      this.name = student.getName();
+      this.high = pack(name, skip);
+      this.low = pack(name, skip + 4);
+    }
+
+    private static long pack(String name, int from) {
+      long p = 0;
+      for (int i = from; i < from + 4; i++) {
+        p = (p << 16) | (i < name.length() ? name.charAt(i) : 0);
+      }
+      return p;
+    }
+  }
+
+  /** Student with its precomputed collation key. */
+  private static final class CollatedKey {
+    private final Student student;
+    private final CollationKey key;
+
+    CollatedKey(Student student, CollationKey key) {
+      this.student = student;
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.example.learningjava.examples.oop;
+
+import com.example.learningjava.model.Student;
+import com.example.learningjava.model.StudentRoster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Term report over a roster: average of averages, extremes, grade distribution and percentiles.
+ *
+ * <p>The roster is split into fork-join tasks. Each task builds a partial report for its slice
+ * (counts, sums and a histogram of averages in steps of 0.1) and the partials are merged on the way
+ * back up, so the work spreads over every core and no task shares mutable state.
+ */
+public final class GradeReport {
+
+  /** Slices smaller than this are summarized on one thread. */
+  public static final int DEFAULT_THRESHOLD = 4_096;
+
+  private static final String GRADES = "ABCDF";
+  private static final int BUCKETS_PER_MARK = 10;
+  private static final int MAX_BUCKET = 100 * BUCKETS_PER_MARK;
+
+  private final long count;
+  private final double sum;
+  private final double min;
+  private final double max;
+  private final long[] gradeCounts;
+  private final long[] histogram;
+
+  private GradeReport(Partial p) {
+    this.count = p.count;
+    this.sum = p.sum;
+    this.min = p.min;
+    this.max = p.max;
+    this.gradeCounts = p.gradeCounts;
+    this.histogram = p.histogram;
+  }
+
+  /** Builds the report for {@code students} on the common fork-join pool. */
+  public static GradeReport of(List<Student> students) {
+    return of(students, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /** Builds the report on {@code pool}, summarizing slices of up to {@code threshold} students. */
+  public static GradeReport of(List<Student> students, ForkJoinPool pool, int threshold) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive");
+    }
+    List<Student> list = students instanceof RandomAccess ? students : new ArrayList<>(students);
+    return new GradeReport(
+        pool.invoke(
+            new ReportTask(i -> list.get(i).calculateAverage(), 0, list.size(), threshold)));
+  }
+
+  /** Builds the report for a columnar roster on the common fork-join pool. */
+  public static GradeReport of(StudentRoster roster) {
+    return new GradeReport(
+        ForkJoinPool.commonPool()
+            .invoke(new ReportTask(roster::calculateAverage, 0, roster.size(), DEFAULT_THRESHOLD)));
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the mean of all student averages, or 0 for an empty roster. */
+  public double getMeanAverage() {
+    return count == 0 ? 0.0 : sum / count;
+  }
+
+  public double getMinAverage() {
+    return count == 0 ? 0.0 : min;
+  }
+
+  public double getMaxAverage() {
+    return count == 0 ? 0.0 : max;
+  }
+
+  /** Returns how many students got {@code grade} ("A", "B", "C", "D" or "F"). */
+  public long getGradeCount(String grade) {
+    int index = GRADES.indexOf(grade);
+    if (grade.length() != 1 || index < 0) {
+      throw new IllegalArgumentException("Unknown grade: " + grade);
+    }
+    return gradeCounts[index];
+  }
+
+  /**
+   * Returns the nearest-rank {@code percentile} (0 to 100) of student averages, accurate to 0.1.
+   * Averages outside 0..100 are counted at the nearest end.
+   */
+  public double percentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    if (count == 0) {
+      return 0.0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket <= MAX_BUCKET; bucket++) {
+      seen += histogram[bucket];
+      if (seen >= rank) {
+        return (double) bucket / BUCKETS_PER_MARK;
+      }
+    }
+    return 100.0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Students: ").append(count).append('\n');
+    sb.append(
+        String.format(
+            "Mean: %.2f  Min: %.2f  Max: %.2f%n",
+            getMeanAverage(), getMinAverage(), getMaxAverage()));
+    sb.append(
+        String.format(
+            "Median: %.1f  P90: %.1f  P99: %.1f%n",
+            percentile(50), percentile(90), percentile(99)));
+    for (int i = 0; i < GRADES.length(); i++) {
+      sb.append(GRADES.charAt(i)).append(": ").append(gradeCounts[i]).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /** Mergeable summary of one slice of the roster. */
+  private static final class Partial {
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final long[] gradeCounts = new long[GRADES.length()];
+    private final long[] histogram = new long[MAX_BUCKET + 1];
+
+    void add(double avg) {
+      count++;
+      sum += avg;
+      min = Math.min(min, avg);
+      max = Math.max(max, avg);
+      gradeCounts[GRADES.indexOf(Student.gradeFor(avg).charAt(0))]++;
+      long bucket = Math.round(avg * BUCKETS_PER_MARK);
+      histogram[(int) Math.max(0, Math.min(MAX_BUCKET, bucket))]++;
+    }
+
+    Partial merge(Partial other) {
+      count += other.count;
+      sum += other.sum;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+      for (int i = 0; i < gradeCounts.length; i++) {
+        gradeCounts[i] += other.gradeCounts[i];
+      }
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] += other.histogram[i];
+      }
+      return this;
+    }
+  }
+
+  private static final class ReportTask extends RecursiveTask<Partial> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient IntToDoubleFunction averageOf;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    ReportTask(IntToDoubleFunction averageOf, int from, int to, int threshold) {
+      this.averageOf = averageOf;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected Partial compute() {
+      if (to - from <= threshold) {
+        Partial partial = new Partial();
+        for (int i = from; i < to; i++) {
+          partial.add(averageOf.applyAsDouble(i));
+        }
+        return partial;
+      }
+      int mid = (from + to) >>> 1;
+      ReportTask left = new ReportTask(averageOf, from, mid, threshold);
+      left.fork();
+      Partial right = new ReportTask(averageOf, mid, to, threshold).compute();
+      return left.join().merge(right);
+    }
+  }
+}
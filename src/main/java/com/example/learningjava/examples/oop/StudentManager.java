@@ -1,7 +1,10 @@
 package com.example.learningjava.examples.oop;
 
+import com.example.learningjava.io.ReportSink;
 import com.example.learningjava.model.Student;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class StudentManager {
@@ -12,6 +15,23 @@ public class StudentManager {
     students.add(s);
   }
 
+  public List<Student> getStudents() {
+    return Collections.unmodifiableList(students);
+  }
+
+  /** Computes the term report for all students in parallel. */
+  public GradeReport report() {
+    return GradeReport.of(students);
+  }
+
+  /** Writes one row per student (name, average, grade) to {@code sink} and flushes it. */
+  public void writeReport(ReportSink sink) throws IOException {
+    for (Student s : students) {
+      sink.cell(s.getName()).cell(s.calculateAverage(), 2).cell(s.calculateGrade()).endRow();
+    }
+    sink.flush();
+  }
+
   public void displayStudents() {
     for (Student s : students) {
       System.out.println(s.getName() + " - " + s.getMarks()[0]);
@@ -3,6 +3,7 @@ package com.example.learningjava.examples.streams;
 import com.example.learningjava.examples.collections.Student;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 public class LambdaSortDemo {
@@ -27,10 +28,15 @@ public class LambdaSortDemo {
     students.add(s2);
     students.add(s3);
 
-    Collections.sort(students, (stu1, stu2) -> stu2.getMarks() - stu1.getMarks());
+    Collections.sort(students, (stu1, stu2) -> Integer.compare(stu2.getMarks(), stu1.getMarks()));
 
     for (Student s : students) {
       System.out.println(s.getName() + " - " + s.getMarks());
     }
+
+    // Only the best two are needed: select them without sorting the whole list
+    List<Student> topTwo = TopK.select(students, 2, Comparator.comparingInt(Student::getMarks));
+
+    System.out.println("Top two: " + topTwo.get(0).getName() + ", " + topTwo.get(1).getName());
   }
 }
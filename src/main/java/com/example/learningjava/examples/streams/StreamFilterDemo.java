@@ -1,6 +1,8 @@
 package com.example.learningjava.examples.streams;
 
 import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.index.StudentIndex;
+import com.example.learningjava.query.StudentQuery;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -44,6 +46,17 @@ public class StreamFilterDemo {
             .count();
 
     System.out.println("\nNumber of students with marks between 80-95: " + count);
+
+    // The same queries answered from an index instead of scanning the list
+    StudentIndex index = StudentIndex.of(students);
+    System.out.println("\nIndexed high scorers: " + index.countMarksBetween(90, 100));
+    System.out.println("Indexed names starting with A: " + index.countNameStartsWith("A"));
+    System.out.println("Indexed count 80-95: " + index.countMarksBetween(80, 95));
+
+    // Chained filters as one lazy query; the mark range is pushed down to the index
+    List<String> strongA =
+        StudentQuery.from(index).marksBetween(80, 100).nameStartsWith("A").names();
+    System.out.println("Query: names starting with A, marks 80-100: " + strongA);
   }
 
   private static Student createStudent(String name, int marks) {
@@ -1,6 +1,7 @@
 package com.example.learningjava.examples.streams;
 
 import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.query.StudentQuery;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,6 +40,11 @@ public class StreamMapDemo {
 
     System.out.println("Marks with bonus (+5): " + marksWithBonus);
 
+    // Same bonus as one fused pass, keeping marks as ints instead of boxed Integers
+    int[] bonusMarks = StudentQuery.from(students).mapMarks(m -> m + 5).marks();
+
+    System.out.println("Marks with bonus (query): " + Arrays.toString(bonusMarks));
+
     // Map to grade letters
     List<String> grades =
         students.stream()
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
+import java.util.stream.Collectors;
 
 public class StreamReduceDemo {
 
@@ -63,6 +64,11 @@ public class StreamReduceDemo {
 
     System.out.println("All names: " + allNames);
 
+    // Same result without building a new String per element
+    String joinedNames = students.stream().map(Student::getName).collect(Collectors.joining(", "));
+
+    System.out.println("All names (joining): " + joinedNames);
+
     // Find student with highest marks using reduce
     Optional<Student> topStudent =
         students.stream().reduce((s1, s2) -> s1.getMarks() > s2.getMarks() ? s1 : s2);
@@ -85,6 +91,13 @@ public class StreamReduceDemo {
     int product = students.stream().map(Student::getMarks).reduce(1, (a, b) -> a * b);
 
     System.out.println("Product of all marks: " + product);
+
+    // Everything above in a single pass over the list
+    StudentStats stats = students.stream().collect(StudentStats.collector());
+
+    System.out.println("\nSingle pass: count=" + stats.getCount() + ", sum=" + stats.getSum());
+    System.out.println("Single pass high scorers: " + stats.getHighScorers());
+    System.out.println("Single pass grade A count: " + stats.getGradeCount("A"));
   }
 
   private static Student createStudent(String name, int marks) {
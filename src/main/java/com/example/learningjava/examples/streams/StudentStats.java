@@ -0,0 +1,133 @@
+package com.example.learningjava.examples.streams;
+
+import com.example.learningjava.examples.collections.Student;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.stream.Collector;
+
+/**
+ * All of the statistics {@link StreamReduceDemo} computes, gathered in one pass.
+ *
+ * <p>Use {@link #collector()} with {@code stream.collect(...)}. Every field is updated per student
+ * and partial results from a parallel stream are merged with {@link #combine}, so sequential and
+ * parallel streams give the same answer. Names are joined into one growing {@link StringBuilder}
+ * rather than by repeated string concatenation.
+ */
+public final class StudentStats {
+
+  /** Marks at or above this count as a high score. */
+  public static final int HIGH_SCORE = 90;
+
+  private static final String GRADES = "ABCDF";
+  private static final String SEPARATOR = ", ";
+
+  private long count;
+  private long sum;
+  private int min = Integer.MAX_VALUE;
+  private int max = Integer.MIN_VALUE;
+  private long highScorers;
+  private long product = 1;
+  private Student top;
+  private final StringBuilder names = new StringBuilder();
+  private final long[] grades = new long[GRADES.length()];
+
+  /** Returns a collector producing a {@code StudentStats} in a single traversal. */
+  public static Collector<Student, StudentStats, StudentStats> collector() {
+    return Collector.of(
+        StudentStats::new,
+        StudentStats::accept,
+        StudentStats::combine,
+        Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  public void accept(Student s) {
+    int marks = s.getMarks();
+    count++;
+    sum += marks;
+    min = Math.min(min, marks);
+    max = Math.max(max, marks);
+    if (marks >= HIGH_SCORE) {
+      highScorers++;
+    }
+    product *= marks;
+    // Later students win ties, as with reduce((a, b) -> a.getMarks() > b.getMarks() ? a : b).
+    if (top == null || marks >= top.getMarks()) {
+      top = s;
+    }
+    if (names.length() > 0) {
+      names.append(SEPARATOR);
+    }
+    names.append(s.getName());
+    grades[GRADES.indexOf(com.example.learningjava.model.Student.gradeFor(marks))]++;
+  }
+
+  /** Merges {@code other}, which covers students that come after this one's, into this. */
+  public StudentStats combine(StudentStats other) {
+    count += other.count;
+    sum += other.sum;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    highScorers += other.highScorers;
+    product *= other.product;
+    if (other.top != null && (top == null || other.top.getMarks() >= top.getMarks())) {
+      top = other.top;
+    }
+    if (names.length() > 0 && other.names.length() > 0) {
+      names.append(SEPARATOR);
+    }
+    names.append(other.names);
+    for (int i = 0; i < grades.length; i++) {
+      grades[i] += other.grades[i];
+    }
+    return this;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public OptionalDouble getAverage() {
+    return count == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / count);
+  }
+
+  public OptionalInt getMin() {
+    return count == 0 ? OptionalInt.empty() : OptionalInt.of(min);
+  }
+
+  public OptionalInt getMax() {
+    return count == 0 ? OptionalInt.empty() : OptionalInt.of(max);
+  }
+
+  /** Returns how many students scored at least {@link #HIGH_SCORE}. */
+  public long getHighScorers() {
+    return highScorers;
+  }
+
+  /** Returns the product of all marks; like the demo's int product it wraps on overflow. */
+  public long getProduct() {
+    return product;
+  }
+
+  public Optional<Student> getTopStudent() {
+    return Optional.ofNullable(top);
+  }
+
+  /** Returns all names in encounter order, separated by ", ". */
+  public String getNames() {
+    return names.toString();
+  }
+
+  /** Returns how many students got {@code grade} ("A", "B", "C", "D" or "F"). */
+  public long getGradeCount(String grade) {
+    int index = GRADES.indexOf(grade);
+    if (grade.length() != 1 || index < 0) {
+      throw new IllegalArgumentException("Unknown grade: " + grade);
+    }
+    return grades[index];
+  }
+}
@@ -0,0 +1,133 @@
+package com.example.learningjava.examples.streams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the {@code k} greatest elements seen under a {@link Comparator} without sorting everything.
+ *
+ * <p>Elements live in a bounded array min-heap whose root is the weakest survivor, so each {@link
+ * #add} costs O(log k) and a full selection is O(n log k) with a single array that grows only as
+ * far as {@code k} or the number of elements offered, whichever is smaller. Two selections over
+ * different parts of the input can be {@link #merge merged}, which is how {@link #collector} and
+ * {@link #selectParallel} combine per-thread results. Which of several elements tied at the cut-off
+ * survives is unspecified.
+ *
+ * @param <T> element type
+ */
+public final class TopK<T> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int k;
+  private final Comparator<? super T> comparator;
+  private Object[] heap;
+  private int size;
+
+  public TopK(int k, Comparator<? super T> comparator) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative");
+    }
+    this.k = k;
+    this.comparator = comparator;
+    this.heap = new Object[Math.min(k, INITIAL_CAPACITY)];
+  }
+
+  /** Returns the {@code k} greatest of {@code items}, greatest first. */
+  public static <T> List<T> select(Iterable<? extends T> items, int k, Comparator<? super T> cmp) {
+    TopK<T> top = new TopK<>(k, cmp);
+    for (T item : items) {
+      top.add(item);
+    }
+    return top.toList();
+  }
+
+  /** Like {@link #select}, splitting {@code items} across the common fork-join pool. */
+  public static <T> List<T> selectParallel(
+      List<? extends T> items, int k, Comparator<? super T> cmp) {
+    return items.parallelStream().collect(TopK.<T>collector(k, cmp)).toList();
+  }
+
+  /** Returns a collector that selects the top {@code k}; safe to use with parallel streams. */
+  public static <T> Collector<T, ?, TopK<T>> collector(int k, Comparator<? super T> cmp) {
+    return Collector.of(
+        () -> new TopK<T>(k, cmp),
+        TopK::add,
+        TopK::merge,
+        Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  /** Offers {@code item}; it is kept if it beats the weakest of the current top {@code k}. */
+  public void add(T item) {
+    if (size < k) {
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+      }
+      heap[size] = item;
+      siftUp(size++);
+    } else if (k > 0 && comparator.compare(item, at(0)) > 0) {
+      heap[0] = item;
+      siftDown(0);
+    }
+  }
+
+  /** Adds every element kept by {@code other} to this selection and returns this. */
+  public TopK<T> merge(TopK<T> other) {
+    for (int i = 0; i < other.size; i++) {
+      add(other.at(i));
+    }
+    return this;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Returns the kept elements, greatest first. */
+  public List<T> toList() {
+    @SuppressWarnings("unchecked")
+    T[] items = (T[]) Arrays.copyOf(heap, size);
+    Arrays.sort(items, Collections.reverseOrder(comparator));
+    return new ArrayList<>(Arrays.asList(items));
+  }
+
+  @SuppressWarnings("unchecked")
+  private T at(int i) {
+    return (T) heap[i];
+  }
+
+  private void siftUp(int i) {
+    T item = at(i);
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (comparator.compare(at(parent), item) <= 0) {
+        break;
+      }
+      heap[i] = heap[parent];
+      i = parent;
+    }
+    heap[i] = item;
+  }
+
+  private void siftDown(int i) {
+    T item = at(i);
+    int half = size >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      int right = child + 1;
+      if (right < size && comparator.compare(at(right), at(child)) < 0) {
+        child = right;
+      }
+      if (comparator.compare(item, at(child)) <= 0) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = item;
+  }
+}
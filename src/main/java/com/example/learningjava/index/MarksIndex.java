@@ -0,0 +1,111 @@
+package com.example.learningjava.index;
+
+import com.example.learningjava.examples.collections.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Counting index over marks, which {@link Student} bounds to 0..100.
+ *
+ * <p>There is one bucket per possible mark, so insertion and removal never re-sort, a top-N query
+ * walks buckets from 100 downwards and stops after {@code n} students, and counting a range only
+ * sums at most 101 counters. Students with equal marks keep insertion order.
+ */
+public final class MarksIndex {
+
+  /** Highest mark a {@link Student} can hold. */
+  public static final int MAX_MARK = 100;
+
+  private final Student[][] buckets = new Student[MAX_MARK + 1][];
+  private final int[] counts = new int[MAX_MARK + 1];
+  private int size;
+
+  public void add(Student student, int marks) {
+    int m = check(marks);
+    Student[] bucket = buckets[m];
+    if (bucket == null) {
+      bucket = new Student[4];
+      buckets[m] = bucket;
+    } else if (counts[m] == bucket.length) {
+      bucket = Arrays.copyOf(bucket, bucket.length * 2);
+      buckets[m] = bucket;
+    }
+    bucket[counts[m]++] = student;
+    size++;
+  }
+
+  /** Removes {@code student} (by identity) from the bucket for {@code marks}. */
+  public boolean remove(Student student, int marks) {
+    int m = check(marks);
+    Student[] bucket = buckets[m];
+    for (int i = 0; i < counts[m]; i++) {
+      if (bucket[i] == student) {
+        System.arraycopy(bucket, i + 1, bucket, i, counts[m] - i - 1);
+        bucket[--counts[m]] = null;
+        size--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Returns up to {@code n} students with the highest marks, best first. */
+  public List<Student> topN(int n) {
+    List<Student> result = new ArrayList<>(Math.min(n, size));
+    for (int m = MAX_MARK; m >= 0 && result.size() < n; m--) {
+      for (int i = 0; i < counts[m] && result.size() < n; i++) {
+        result.add(buckets[m][i]);
+      }
+    }
+    return result;
+  }
+
+  /** Returns students with {@code low <= marks <= high}, in ascending order of marks. */
+  public List<Student> range(int low, int high) {
+    int lo = Math.max(low, 0);
+    int hi = Math.min(high, MAX_MARK);
+    List<Student> result = new ArrayList<>(count(lo, hi));
+    for (int m = lo; m <= hi; m++) {
+      for (int i = 0; i < counts[m]; i++) {
+        result.add(buckets[m][i]);
+      }
+    }
+    return result;
+  }
+
+  /** Passes students with {@code low <= marks <= high} to {@code action}, lowest marks first. */
+  public void forEachInRange(int low, int high, Consumer<? super Student> action) {
+    for (int m = Math.max(low, 0); m <= Math.min(high, MAX_MARK); m++) {
+      for (int i = 0; i < counts[m]; i++) {
+        action.accept(buckets[m][i]);
+      }
+    }
+  }
+
+  /** Counts students with {@code low <= marks <= high} without visiting them. */
+  public int count(int low, int high) {
+    int total = 0;
+    for (int m = Math.max(low, 0); m <= Math.min(high, MAX_MARK); m++) {
+      total += counts[m];
+    }
+    return total;
+  }
+
+  /** Returns every student in ascending order of marks, as a stable sort would. */
+  public List<Student> ascending() {
+    return range(0, MAX_MARK);
+  }
+
+  private static int check(int marks) {
+    if (marks < 0 || marks > MAX_MARK) {
+      throw new IllegalArgumentException("Marks must be between 0 and " + MAX_MARK);
+    }
+    return marks;
+  }
+}
@@ -0,0 +1,142 @@
+package com.example.learningjava.index;
+
+import com.example.learningjava.examples.collections.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Prefix tree over student names.
+ *
+ * <p>A prefix query walks one node per prefix character and then collects the subtree, so its cost
+ * depends on the prefix length and the number of matches rather than on the roster size. Children
+ * are kept sorted, so results come back in {@link String#compareTo} order. Each node also counts
+ * the students below it, which makes {@link #count(String)} O(prefix length).
+ */
+public final class NameTrie {
+
+  private final Node root = new Node();
+
+  public void add(Student student, String name) {
+    Node node = root;
+    node.subtreeCount++;
+    for (int i = 0; i < name.length(); i++) {
+      node = node.childOrCreate(name.charAt(i));
+      node.subtreeCount++;
+    }
+    if (node.students == null) {
+      node.students = new ArrayList<>(1);
+    }
+    node.students.add(student);
+  }
+
+  /** Removes {@code student} (by identity) from the entry for {@code name}. */
+  public boolean remove(Student student, String name) {
+    Node node = find(name);
+    if (node == null || node.students == null) {
+      return false;
+    }
+    boolean removed = node.students.removeIf(s -> s == student);
+    if (removed) {
+      Node n = root;
+      n.subtreeCount--;
+      for (int i = 0; i < name.length(); i++) {
+        n = n.child(name.charAt(i));
+        n.subtreeCount--;
+      }
+    }
+    return removed;
+  }
+
+  public int size() {
+    return root.subtreeCount;
+  }
+
+  /** Returns every student whose name starts with {@code prefix}, sorted by name. */
+  public List<Student> withPrefix(String prefix) {
+    Node node = find(prefix);
+    List<Student> result = new ArrayList<>(node == null ? 0 : node.subtreeCount);
+    if (node != null) {
+      collect(node, result);
+    }
+    return result;
+  }
+
+  /** Passes every student whose name starts with {@code prefix} to {@code action}, by name. */
+  public void forEachWithPrefix(String prefix, Consumer<? super Student> action) {
+    Node node = find(prefix);
+    if (node != null) {
+      visit(node, action);
+    }
+  }
+
+  /** Counts students whose name starts with {@code prefix}. */
+  public int count(String prefix) {
+    Node node = find(prefix);
+    return node == null ? 0 : node.subtreeCount;
+  }
+
+  private Node find(String prefix) {
+    Node node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.child(prefix.charAt(i));
+    }
+    return node;
+  }
+
+  private static void collect(Node node, List<Student> out) {
+    if (node.students != null) {
+      out.addAll(node.students);
+    }
+    for (int i = 0; i < node.childCount; i++) {
+      if (node.children[i].subtreeCount > 0) {
+        collect(node.children[i], out);
+      }
+    }
+  }
+
+  private static void visit(Node node, Consumer<? super Student> action) {
+    if (node.students != null) {
+      node.students.forEach(action);
+    }
+    for (int i = 0; i < node.childCount; i++) {
+      if (node.children[i].subtreeCount > 0) {
+        visit(node.children[i], action);
+      }
+    }
+  }
+
+  private static final class Node {
+    private char[] keys = new char[0];
+    private Node[] children = new Node[0];
+    private int childCount;
+    private int subtreeCount;
+    private List<Student> students;
+
+    Node child(char c) {
+      int i = Arrays.binarySearch(keys, 0, childCount, c);
+      return i >= 0 ? children[i] : null;
+    }
+
+    Node childOrCreate(char c) {
+      int i = Arrays.binarySearch(keys, 0, childCount, c);
+      if (i >= 0) {
+        return children[i];
+      }
+      int at = -i - 1;
+      if (childCount == keys.length) {
+        int capacity = Math.max(2, childCount * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        children = Arrays.copyOf(children, capacity);
+      }
+      System.arraycopy(keys, at, keys, at + 1, childCount - at);
+      System.arraycopy(children, at, children, at + 1, childCount - at);
+      Node node = new Node();
+      keys[at] = c;
+      children[at] = node;
+      childCount++;
+      return node;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.learningjava.index;
+
+import com.example.learningjava.examples.collections.Student;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Secondary indexes over a set of {@link Student}s: a {@link MarksIndex} for rankings and mark
+ * ranges and a {@link NameTrie} for name prefixes.
+ *
+ * <p>Queries are answered from the indexes without scanning or re-sorting the roster. Because
+ * {@code Student} is mutable, the index remembers the name and marks each student was indexed
+ * under; call {@link #refresh(Student)} after changing a student so both indexes move it.
+ */
+public final class StudentIndex {
+
+  private final MarksIndex marks = new MarksIndex();
+  private final NameTrie names = new NameTrie();
+  private final Map<Student, Indexed> indexed = new IdentityHashMap<>();
+
+  public static StudentIndex of(Collection<Student> students) {
+    StudentIndex index = new StudentIndex();
+    for (Student s : students) {
+      index.add(s);
+    }
+    return index;
+  }
+
+  /** Indexes {@code student}; adding the same instance twice has no effect. */
+  public void add(Student student) {
+    if (indexed.containsKey(student)) {
+      return;
+    }
+    Indexed entry = new Indexed(nameOf(student), student.getMarks());
+    marks.add(student, entry.marks);
+    names.add(student, entry.name);
+    indexed.put(student, entry);
+  }
+
+  public boolean remove(Student student) {
+    Indexed entry = indexed.remove(student);
+    if (entry == null) {
+      return false;
+    }
+    marks.remove(student, entry.marks);
+    names.remove(student, entry.name);
+    return true;
+  }
+
+  /** Re-indexes {@code student} after its name or marks changed. */
+  public void refresh(Student student) {
+    if (remove(student)) {
+      add(student);
+    }
+  }
+
+  public int size() {
+    return indexed.size();
+  }
+
+  /** Returns up to {@code n} students with the highest marks, best first. */
+  public List<Student> topN(int n) {
+    return marks.topN(n);
+  }
+
+  /** Returns students with marks in {@code [low, high]}, lowest marks first. */
+  public List<Student> marksBetween(int low, int high) {
+    return marks.range(low, high);
+  }
+
+  /** Visits students with marks in {@code [low, high]} without building a list. */
+  public void forEachMarksBetween(int low, int high, Consumer<? super Student> action) {
+    marks.forEachInRange(low, high, action);
+  }
+
+  public int countMarksBetween(int low, int high) {
+    return marks.count(low, high);
+  }
+
+  /** Returns students whose name starts with {@code prefix}, sorted by name. */
+  public List<Student> nameStartsWith(String prefix) {
+    return names.withPrefix(prefix);
+  }
+
+  /** Visits students whose name starts with {@code prefix} without building a list. */
+  public void forEachNameStartsWith(String prefix, Consumer<? super Student> action) {
+    names.forEachWithPrefix(prefix, action);
+  }
+
+  public int countNameStartsWith(String prefix) {
+    return names.count(prefix);
+  }
+
+  private static String nameOf(Student student) {
+    return student.getName() == null ? "" : student.getName();
+  }
+
+  /** Values a student was indexed under. */
+  private static final class Indexed {
+    private final String name;
+    private final int marks;
+
+    Indexed(String name, int marks) {
+      this.name = name;
+      this.marks = marks;
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.learningjava.io;
+
+/** Row layouts supported by {@link ReportSink}. */
+public enum ReportFormat {
+  /** Comma-separated values; cells containing commas, quotes or line breaks are quoted. */
+  CSV,
+  /**
+   * Space-padded columns of fixed width; text is left-aligned and numbers right-aligned. Text that
+   * does not fit is cut off; a number that does not fit fills its column with {@code #}.
+   */
+  FIXED_WIDTH
+}
@@ -0,0 +1,274 @@
+package com.example.learningjava.io;
+
+import com.example.learningjava.model.Student;
+import com.example.learningjava.model.StudentRoster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for roster files with one student per line: a name followed by any number of
+ * integer marks, separated by commas (CSV) or tabs (TSV).
+ *
+ * <pre>
+ * Alice,90,80,70
+ * "Smith, Jo",85
+ * </pre>
+ *
+ * <p>The file is read through a fixed-size buffer and parsed byte by byte, so memory use depends on
+ * the longest line, not on the file size. Each record is handed to a {@link RecordHandler} as soon
+ * as its line ends; the marks array passed to the handler is reused for the next record. Names may
+ * be quoted with {@code "} and contain doubled quotes; blank lines and empty mark fields are
+ * skipped.
+ */
+public final class RosterReader {
+
+  /** Receives one parsed line. {@code marks} is only valid for the duration of the call. */
+  public interface RecordHandler {
+    void onRecord(String name, int[] marks, int markCount);
+  }
+
+  /** Size of the read buffer used when none is given. */
+  public static final int DEFAULT_BUFFER_BYTES = 64 * 1024;
+
+  private final byte delimiter;
+  private final boolean skipHeader;
+  private final int bufferBytes;
+
+  public RosterReader(char delimiter, boolean skipHeader, int bufferBytes) {
+    if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+      throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+    }
+    if (bufferBytes <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    this.delimiter = (byte) delimiter;
+    this.skipHeader = skipHeader;
+    this.bufferBytes = bufferBytes;
+  }
+
+  /** Comma-separated reader without a header line. */
+  public static RosterReader csv() {
+    return new RosterReader(',', false, DEFAULT_BUFFER_BYTES);
+  }
+
+  /** Tab-separated reader without a header line. */
+  public static RosterReader tsv() {
+    return new RosterReader('\t', false, DEFAULT_BUFFER_BYTES);
+  }
+
+  /** Parses {@code path} and returns the number of records delivered. */
+  public long read(Path path, RecordHandler handler) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return read(channel, handler);
+    }
+  }
+
+  /** Parses everything readable from {@code channel} and returns the number of records. */
+  public long read(ReadableByteChannel channel, RecordHandler handler) throws IOException {
+    Parser parser = new Parser(handler);
+    ByteBuffer buf = ByteBuffer.allocateDirect(bufferBytes);
+    while (channel.read(buf) >= 0) {
+      buf.flip();
+      while (buf.hasRemaining()) {
+        parser.accept(buf.get());
+      }
+      buf.clear();
+    }
+    parser.finish();
+    return parser.records;
+  }
+
+  /** Parses {@code path} into a new {@link Student} per line. */
+  public long readStudents(Path path, Consumer<Student> consumer) throws IOException {
+    return read(
+        path,
+        (name, marks, count) -> {
+          Student s = new Student(name, count);
+          for (int i = 0; i < count; i++) {
+            s.setMark(i, marks[i]);
+          }
+          consumer.accept(s);
+        });
+  }
+
+  /** Appends every line of {@code path} to {@code roster} without creating Student objects. */
+  public long readInto(Path path, StudentRoster roster) throws IOException {
+    return read(path, roster::add);
+  }
+
+  private enum NameState {
+    START,
+    UNQUOTED,
+    QUOTED,
+    QUOTE_IN_QUOTED,
+    DONE
+  }
+
+  /** Per-call parse state; everything is reused across lines. */
+  private final class Parser {
+    private final RecordHandler handler;
+    private byte[] name = new byte[64];
+    private int nameLength;
+    private NameState nameState = NameState.START;
+    private boolean nameQuoted;
+    private int[] marks = new int[16];
+    private int markCount;
+    private long value;
+    private int digits;
+    private boolean negative;
+    private boolean signSeen;
+    private boolean markClosed;
+    private long line = 1;
+    private boolean headerPending = skipHeader;
+    private long records;
+
+    Parser(RecordHandler handler) {
+      this.handler = handler;
+    }
+
+    void accept(byte b) throws IOException {
+      if (headerPending) {
+        if (b == '\n') {
+          headerPending = false;
+          line++;
+        }
+        return;
+      }
+      if (nameState != NameState.DONE) {
+        acceptName(b);
+      } else {
+        acceptMark(b);
+      }
+    }
+
+    private void acceptName(byte b) throws IOException {
+      switch (nameState) {
+        case START:
+        case UNQUOTED:
+          if (b == '"' && nameState == NameState.START) {
+            nameState = NameState.QUOTED;
+            nameQuoted = true;
+          } else if (b == delimiter) {
+            nameState = NameState.DONE;
+          } else if (b == '\n') {
+            endLine();
+          } else if (b != '\r') {
+            appendName(b);
+            nameState = NameState.UNQUOTED;
+          }
+          break;
+        case QUOTED:
+          if (b == '"') {
+            nameState = NameState.QUOTE_IN_QUOTED;
+          } else {
+            appendName(b);
+          }
+          break;
+        case QUOTE_IN_QUOTED:
+          if (b == '"') {
+            appendName(b);
+            nameState = NameState.QUOTED;
+            nameQuoted = true;
+          } else if (b == delimiter) {
+            nameState = NameState.DONE;
+          } else if (b == '\n') {
+            endLine();
+          } else if (b != '\r') {
+            throw error("unexpected character after closing quote");
+          }
+          break;
+        default:
+          throw new IllegalStateException(nameState.name());
+      }
+    }
+
+    private void acceptMark(byte b) throws IOException {
+      if (b >= '0' && b <= '9') {
+        if (markClosed) {
+          throw error("space inside mark");
+        }
+        value = value * 10 + (b - '0');
+        if (value > Integer.MAX_VALUE + 1L) {
+          throw error("mark out of range");
+        }
+        digits++;
+      } else if (b == delimiter) {
+        endMark();
+      } else if (b == '\n') {
+        endMark();
+        endLine();
+      } else if (b == ' ' || b == '\t' || b == '\r') {
+        markClosed = digits > 0 || signSeen;
+      } else if ((b == '-' || b == '+') && digits == 0 && !signSeen && !markClosed) {
+        signSeen = true;
+        negative = b == '-';
+      } else {
+        throw error("invalid character in mark");
+      }
+    }
+
+    private void endMark() throws IOException {
+      if (digits == 0) {
+        if (signSeen) {
+          throw error("sign without digits");
+        }
+      } else {
+        long mark = negative ? -value : value;
+        if (mark > Integer.MAX_VALUE) {
+          throw error("mark out of range");
+        }
+        if (markCount == marks.length) {
+          marks = Arrays.copyOf(marks, markCount * 2);
+        }
+        marks[markCount++] = (int) mark;
+      }
+      value = 0;
+      digits = 0;
+      negative = false;
+      signSeen = false;
+      markClosed = false;
+    }
+
+    private void endLine() {
+      boolean blank = nameState == NameState.START && markCount == 0;
+      if (!blank) {
+        String text = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+        handler.onRecord(nameQuoted ? text : text.strip(), marks, markCount);
+        records++;
+      }
+      nameLength = 0;
+      nameState = NameState.START;
+      nameQuoted = false;
+      markCount = 0;
+      line++;
+    }
+
+    void finish() throws IOException {
+      if (nameState == NameState.QUOTED) {
+        throw error("unterminated quote");
+      }
+      if (nameState == NameState.DONE) {
+        endMark();
+      }
+      endLine();
+    }
+
+    private void appendName(byte b) {
+      if (nameLength == name.length) {
+        name = Arrays.copyOf(name, nameLength * 2);
+      }
+      name[nameLength++] = b;
+    }
+
+    private IOException error(String message) {
+      return new IOException("Line " + line + ": " + message);
+    }
+  }
+}
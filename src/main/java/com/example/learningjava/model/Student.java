@@ -4,12 +4,31 @@ public class Student {
 
   private String name;
   private int[] marks;
+  // Running total of marks, kept in step with every update so averages are O(1).
+  private long sum;
 
   public Student(String name, int numSubjects) {
     this.name = name;
     this.marks = new int[numSubjects];
   }
 
+  // Takes ownership of marks, whose total the caller already knows.
+  Student(String name, int[] marks, long sum) {
+    this.name = name;
+    this.marks = marks;
+    this.sum = sum;
+  }
+
+  /** Creates a student holding the data of {@code record}. */
+  public static Student fromRecord(StudentRecord record) {
+    return record.toStudent();
+  }
+
+  /** Returns an immutable {@link StudentRecord} of this student's current data. */
+  public StudentRecord toRecord() {
+    return StudentRecord.from(this);
+  }
+
   // Getter
   public String getName() {
     return name;
@@ -20,27 +39,54 @@ public class Student {
     this.name = name;
   }
 
+  /** Returns a copy of the marks; use {@link #setMark(int, int)} to change one subject. */
   public int[] getMarks() {
-    return marks;
+    return marks.clone();
   }
 
+  /** Replaces all marks with a copy of {@code marks}. */
   public void setMarks(int[] marks) {
-    this.marks = marks;
+    int[] copy = marks.clone();
+    long total = 0;
+    for (int mark : copy) {
+      total += mark;
+    }
+    this.marks = copy;
+    this.sum = total;
+  }
+
+  // Backing array for this package's converters, which read it without copying or changing it.
+  int[] marksView() {
+    return marks;
+  }
+
+  public int getMark(int subject) {
+    return marks[subject];
+  }
+
+  /** Updates one subject's mark and the running total in O(1). */
+  public void setMark(int subject, int mark) {
+    sum += (long) mark - marks[subject];
+    marks[subject] = mark;
+  }
+
+  public int getSubjectCount() {
+    return marks.length;
   }
 
   public double calculateAverage() {
     if (marks.length == 0) {
       return 0.0;
     }
-    double sum = 0;
-    for (int mark : marks) {
-      sum += mark;
-    }
-    return sum / marks.length;
+    return (double) sum / marks.length;
   }
 
   public String calculateGrade() {
-    double avg = calculateAverage();
+    return gradeFor(calculateAverage());
+  }
+
+  /** Returns the letter grade for an average mark; shared by every roster representation. */
+  public static String gradeFor(double avg) {
     if (avg >= 90) {
       return "A";
     } else if (avg >= 80) {
@@ -0,0 +1,139 @@
+package com.example.learningjava.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable student value shared by both student APIs: {@link Student} and {@link
+ * com.example.learningjava.examples.collections.Student} each convert to and from it with {@code
+ * toRecord()} and {@code fromRecord(...)}, so code that moves students between the two (or between
+ * threads) passes one record around instead of converting each type into the other.
+ *
+ * <p>Marks accept the same range as {@link Student}. The usual 0..100 marks fit in a {@code byte},
+ * so a record normally costs one byte per subject instead of four; a record holding any mark
+ * outside the byte range falls back to an {@code int} array. Its total is computed once at
+ * construction so {@link #calculateAverage()} is O(1). Because a record never changes it can be
+ * passed between pipelines and threads without defensive copies; use {@link #withMark} to derive an
+ * updated record. Marks are packed straight from the source array, without an intermediate copy.
+ */
+public final class StudentRecord {
+
+  private final String name;
+  // Exactly one of packed and wide is non-null; packed is used whenever every mark fits a byte.
+  private final byte[] packed;
+  private final int[] wide;
+  private final long sum;
+
+  private StudentRecord(String name, byte[] packed, int[] wide, long sum) {
+    this.name = name;
+    this.packed = packed;
+    this.wide = wide;
+    this.sum = sum;
+  }
+
+  /** Creates a record with {@code name} and {@code marks}; the array is not kept. */
+  public static StudentRecord of(String name, int... marks) {
+    return of(name, marks, 0, marks.length);
+  }
+
+  /** Creates a record from {@code count} marks of {@code source} starting at {@code from}. */
+  static StudentRecord of(String name, int[] source, int from, int count) {
+    long total = 0;
+    boolean fitsByte = true;
+    for (int i = from; i < from + count; i++) {
+      total += source[i];
+      fitsByte &= source[i] == (byte) source[i];
+    }
+    if (!fitsByte) {
+      return new StudentRecord(name, null, Arrays.copyOfRange(source, from, from + count), total);
+    }
+    byte[] packed = new byte[count];
+    for (int i = 0; i < count; i++) {
+      packed[i] = (byte) source[from + i];
+    }
+    return new StudentRecord(name, packed, null, total);
+  }
+
+  /** Creates a record with the current name and marks of {@code student}. */
+  public static StudentRecord from(Student student) {
+    int[] marks = student.marksView();
+    return of(student.getName(), marks, 0, marks.length);
+  }
+
+  /** Creates a mutable {@link Student} holding this record's data. */
+  public Student toStudent() {
+    return new Student(name, getMarks(), sum);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getSubjectCount() {
+    return packed != null ? packed.length : wide.length;
+  }
+
+  public int getMark(int subject) {
+    return packed != null ? packed[subject] : wide[subject];
+  }
+
+  /** Returns a copy of the marks as ints. */
+  public int[] getMarks() {
+    if (wide != null) {
+      return wide.clone();
+    }
+    int[] result = new int[packed.length];
+    for (int i = 0; i < packed.length; i++) {
+      result[i] = packed[i];
+    }
+    return result;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  /** Returns a record equal to this one except for {@code subject}'s mark. */
+  public StudentRecord withMark(int subject, int mark) {
+    int[] marks = getMarks();
+    marks[subject] = mark;
+    return of(name, marks, 0, marks.length);
+  }
+
+  public double calculateAverage() {
+    int count = getSubjectCount();
+    if (count == 0) {
+      return 0.0;
+    }
+    return (double) sum / count;
+  }
+
+  public String calculateGrade() {
+    return Student.gradeFor(calculateAverage());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StudentRecord)) {
+      return false;
+    }
+    StudentRecord other = (StudentRecord) o;
+    // The representation depends only on the marks, so equal records store them the same way.
+    return sum == other.sum
+        && Arrays.equals(packed, other.packed)
+        && Arrays.equals(wide, other.wide)
+        && (name == null ? other.name == null : name.equals(other.name));
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (name == null ? 0 : name.hashCode()) + Arrays.hashCode(getMarks());
+  }
+
+  @Override
+  public String toString() {
+    return "StudentRecord{name=" + name + ", marks=" + Arrays.toString(getMarks()) + "}";
+  }
+}
@@ -0,0 +1,187 @@
+package com.example.learningjava.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented store for many students.
+ *
+ * <p>Instead of one {@link Student} object plus one {@code int[]} per student, all marks live in a
+ * single {@code int[]}: student {@code i} owns the slice {@code offsets[i]} to {@code offsets[i +
+ * 1]}. Names are interned into a shared table and each student keeps only an {@code int} id, so a
+ * roster scan reads a few contiguous arrays. Averages and grades follow the same rules as {@link
+ * Student}.
+ */
+public final class StudentRoster {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] marks = new int[INITIAL_CAPACITY * 4];
+  private int[] offsets = new int[INITIAL_CAPACITY + 1];
+  private int[] nameIds = new int[INITIAL_CAPACITY];
+  private int size;
+
+  private String[] names = new String[INITIAL_CAPACITY];
+  private final Map<String, Integer> nameTable = new HashMap<>();
+
+  /** Builds a roster holding a copy of every student in {@code students}. */
+  public static StudentRoster of(Collection<Student> students) {
+    StudentRoster roster = new StudentRoster();
+    for (Student s : students) {
+      roster.add(s);
+    }
+    return roster;
+  }
+
+  /** Appends a student and returns its index. */
+  public int add(String name, int... studentMarks) {
+    return add(name, studentMarks, studentMarks.length);
+  }
+
+  /** Appends a student with the first {@code count} entries of {@code source} as marks. */
+  public int add(String name, int[] source, int count) {
+    int start = reserve(count);
+    System.arraycopy(source, 0, marks, start, count);
+    return commit(name, start + count);
+  }
+
+  /** Appends a copy of {@code student} and returns its index. */
+  public int add(Student student) {
+    int count = student.getSubjectCount();
+    int start = reserve(count);
+    for (int i = 0; i < count; i++) {
+      marks[start + i] = student.getMark(i);
+    }
+    return commit(student.getName(), start + count);
+  }
+
+  /** Appends {@code record}, unpacking its marks straight into the roster. */
+  public int add(StudentRecord record) {
+    int count = record.getSubjectCount();
+    int start = reserve(count);
+    for (int i = 0; i < count; i++) {
+      marks[start + i] = record.getMark(i);
+    }
+    return commit(record.getName(), start + count);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Returns the number of distinct names stored. */
+  public int distinctNames() {
+    return nameTable.size();
+  }
+
+  public String getName(int index) {
+    checkIndex(index);
+    return names[nameIds[index]];
+  }
+
+  public int getSubjectCount(int index) {
+    checkIndex(index);
+    return offsets[index + 1] - offsets[index];
+  }
+
+  public int getMark(int index, int subject) {
+    return marks[slot(index, subject)];
+  }
+
+  public void setMark(int index, int subject, int mark) {
+    marks[slot(index, subject)] = mark;
+  }
+
+  public double calculateAverage(int index) {
+    checkIndex(index);
+    return average(offsets[index], offsets[index + 1]);
+  }
+
+  public String calculateGrade(int index) {
+    return Student.gradeFor(calculateAverage(index));
+  }
+
+  /** Returns every student's average in one sequential pass over the marks column. */
+  public double[] averages() {
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = average(offsets[i], offsets[i + 1]);
+    }
+    return result;
+  }
+
+  /** Creates a standalone {@link Student} with the data of {@code index}. */
+  public Student toStudent(int index) {
+    Student s = new Student(getName(index), getSubjectCount(index));
+    s.setMarks(Arrays.copyOfRange(marks, offsets[index], offsets[index + 1]));
+    return s;
+  }
+
+  /** Creates an immutable {@link StudentRecord} with the data of {@code index}. */
+  public StudentRecord toRecord(int index) {
+    return StudentRecord.of(
+        getName(index), marks, offsets[index], offsets[index + 1] - offsets[index]);
+  }
+
+  private int reserve(int count) {
+    if (size == nameIds.length) {
+      int capacity = size * 2;
+      nameIds = Arrays.copyOf(nameIds, capacity);
+      offsets = Arrays.copyOf(offsets, capacity + 1);
+    }
+    int start = offsets[size];
+    int end = start + count;
+    if (end > marks.length) {
+      marks = Arrays.copyOf(marks, Math.max(end, marks.length * 2));
+    }
+    return start;
+  }
+
+  private int commit(String name, int end) {
+    nameIds[size] = intern(name);
+    offsets[++size] = end;
+    return size - 1;
+  }
+
+  private double average(int from, int to) {
+    if (from == to) {
+      return 0.0;
+    }
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += marks[i];
+    }
+    return (double) sum / (to - from);
+  }
+
+  private int intern(String name) {
+    Integer id = nameTable.get(name);
+    if (id != null) {
+      return id;
+    }
+    int next = nameTable.size();
+    if (next == names.length) {
+      names = Arrays.copyOf(names, next * 2);
+    }
+    names[next] = name;
+    nameTable.put(name, next);
+    return next;
+  }
+
+  private int slot(int index, int subject) {
+    checkIndex(index);
+    int start = offsets[index];
+    if (subject < 0 || subject >= offsets[index + 1] - start) {
+      throw new IndexOutOfBoundsException("Subject " + subject + " out of range");
+    }
+    return start + subject;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Student " + index + " out of range");
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package com.example.learningjava.query;
+
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.index.MarksIndex;
+import com.example.learningjava.index.StudentIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Lazy query over {@link Student}s that runs as one fused loop.
+ *
+ * <p>Each builder call returns a new, immutable plan and does no work; a terminal operation such as
+ * {@link #count()} or {@link #marks()} visits every candidate student once, applying all filters
+ * and the composed marks mapping in place, so no intermediate lists are built and marks stay {@code
+ * int}s throughout. Range and prefix predicates on a query {@link #from(StudentIndex) over an
+ * index} are pushed down: the index supplies only the matching students (picking whichever
+ * predicate is more selective), and pure counts are answered from index counters. Index-backed
+ * queries visit students in index order and trust the values students were indexed under.
+ */
+public final class StudentQuery {
+
+  /** Receives each result row: the student and its (possibly mapped) marks. */
+  @FunctionalInterface
+  public interface Row {
+    void accept(Student student, int marks);
+  }
+
+  /** Builds one output value from a result row. */
+  @FunctionalInterface
+  public interface Projection<R> {
+    R apply(Student student, int marks);
+  }
+
+  private static final int MAX_MARK = MarksIndex.MAX_MARK;
+
+  private final List<Student> source;
+  private final StudentIndex index;
+  private final int low;
+  private final int high;
+  private final String prefix;
+  private final Predicate<Student> filter;
+  private final IntUnaryOperator mapper;
+  private final IntPredicate mappedFilter;
+
+  private StudentQuery(
+      List<Student> source,
+      StudentIndex index,
+      int low,
+      int high,
+      String prefix,
+      Predicate<Student> filter,
+      IntUnaryOperator mapper,
+      IntPredicate mappedFilter) {
+    this.source = source;
+    this.index = index;
+    this.low = low;
+    this.high = high;
+    this.prefix = prefix;
+    this.filter = filter;
+    this.mapper = mapper;
+    this.mappedFilter = mappedFilter;
+  }
+
+  /** Starts a query that scans {@code students} in list order. */
+  public static StudentQuery from(List<Student> students) {
+    return new StudentQuery(students, null, 0, MAX_MARK, null, null, null, null);
+  }
+
+  /** Starts a query answered from {@code index}. */
+  public static StudentQuery from(StudentIndex index) {
+    return new StudentQuery(null, index, 0, MAX_MARK, null, null, null, null);
+  }
+
+  /**
+   * Keeps rows whose marks are in {@code [from, to]}. Before any {@link #mapMarks} this narrows the
+   * pushed-down range; afterwards it tests the mapped value.
+   */
+  public StudentQuery marksBetween(int from, int to) {
+    if (mapper == null) {
+      return new StudentQuery(
+          source,
+          index,
+          Math.max(low, from),
+          Math.min(high, to),
+          prefix,
+          filter,
+          null,
+          mappedFilter);
+    }
+    IntPredicate inRange = m -> m >= from && m <= to;
+    return new StudentQuery(
+        source,
+        index,
+        low,
+        high,
+        prefix,
+        filter,
+        mapper,
+        mappedFilter == null ? inRange : mappedFilter.and(inRange));
+  }
+
+  /** Keeps students whose name starts with {@code namePrefix}; a null name counts as "". */
+  public StudentQuery nameStartsWith(String namePrefix) {
+    String merged;
+    if (prefix == null || namePrefix.startsWith(prefix)) {
+      merged = namePrefix;
+    } else if (prefix.startsWith(namePrefix)) {
+      merged = prefix;
+    } else {
+      // Two incompatible prefixes: nothing can match.
+      return new StudentQuery(source, index, 1, 0, prefix, filter, mapper, mappedFilter);
+    }
+    return new StudentQuery(source, index, low, high, merged, filter, mapper, mappedFilter);
+  }
+
+  /** Keeps students matching {@code predicate}; evaluated inside the fused loop. */
+  public StudentQuery filter(Predicate<Student> predicate) {
+    Predicate<Student> combined = filter == null ? predicate : filter.and(predicate);
+    return new StudentQuery(source, index, low, high, prefix, combined, mapper, mappedFilter);
+  }
+
+  /** Transforms each row's marks, e.g. {@code m -> m + 5} for a bonus. */
+  public StudentQuery mapMarks(IntUnaryOperator operator) {
+    IntUnaryOperator composed = mapper == null ? operator : mapper.andThen(operator);
+    return new StudentQuery(source, index, low, high, prefix, filter, composed, mappedFilter);
+  }
+
+  /** Runs the query, passing each row to {@code row}. */
+  public void forEach(Row row) {
+    if (low > high) {
+      return;
+    }
+    if (index == null) {
+      for (Student s : source) {
+        emit(s, true, true, row);
+      }
+    } else if (prefix != null && (fullRange() || prefixCount() <= rangeCount())) {
+      index.forEachNameStartsWith(prefix, s -> emit(s, false, true, row));
+    } else {
+      index.forEachMarksBetween(low, high, s -> emit(s, true, false, row));
+    }
+  }
+
+  public long count() {
+    if (low > high) {
+      return 0;
+    }
+    if (index != null && filter == null && mappedFilter == null) {
+      if (prefix == null) {
+        return rangeCount();
+      }
+      if (fullRange()) {
+        return prefixCount();
+      }
+    }
+    long[] count = new long[1];
+    forEach((s, m) -> count[0]++);
+    return count[0];
+  }
+
+  /** Returns the sum of the (mapped) marks of all rows. */
+  public long sumMarks() {
+    long[] sum = new long[1];
+    forEach((s, m) -> sum[0] += m);
+    return sum[0];
+  }
+
+  /** Returns the (mapped) marks of all rows as a primitive array. */
+  public int[] marks() {
+    int[][] buffer = {new int[16]};
+    int[] size = new int[1];
+    forEach(
+        (s, m) -> {
+          if (size[0] == buffer[0].length) {
+            buffer[0] = Arrays.copyOf(buffer[0], size[0] * 2);
+          }
+          buffer[0][size[0]++] = m;
+        });
+    return Arrays.copyOf(buffer[0], size[0]);
+  }
+
+  public List<String> names() {
+    return project((s, m) -> s.getName());
+  }
+
+  /** Returns the letter grade of each row's (mapped) marks. */
+  public List<String> grades() {
+    return project((s, m) -> com.example.learningjava.model.Student.gradeFor(m));
+  }
+
+  /** Builds one value per row with {@code projection}. */
+  public <R> List<R> project(Projection<? extends R> projection) {
+    List<R> result = new ArrayList<>();
+    forEach((s, m) -> result.add(projection.apply(s, m)));
+    return result;
+  }
+
+  private void emit(Student s, boolean checkPrefix, boolean checkRange, Row row) {
+    int m = s.getMarks();
+    if (checkRange && (m < low || m > high)) {
+      return;
+    }
+    if (checkPrefix && prefix != null && !nameOf(s).startsWith(prefix)) {
+      return;
+    }
+    if (filter != null && !filter.test(s)) {
+      return;
+    }
+    if (mapper != null) {
+      m = mapper.applyAsInt(m);
+    }
+    if (mappedFilter != null && !mappedFilter.test(m)) {
+      return;
+    }
+    row.accept(s, m);
+  }
+
+  private boolean fullRange() {
+    return low <= 0 && high >= MAX_MARK;
+  }
+
+  private int rangeCount() {
+    return index.countMarksBetween(low, high);
+  }
+
+  private int prefixCount() {
+    return index.countNameStartsWith(prefix);
+  }
+
+  private static String nameOf(Student s) {
+    return s.getName() == null ? "" : s.getName();
+  }
+}
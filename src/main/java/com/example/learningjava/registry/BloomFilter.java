@@ -0,0 +1,64 @@
+package com.example.learningjava.registry;
+
+/**
+ * Bloom filter over 64-bit hashes.
+ *
+ * <p>The bit count and number of probes are sized from the expected element count and target
+ * false-positive rate; the probes are derived from the full 64-bit hash by double hashing, so
+ * callers hash once. {@link #mightContain} never returns false for an added hash. A filter does not
+ * grow: once more than {@link #capacity()} hashes are added its false-positive rate climbs, and the
+ * owner should build a larger one.
+ */
+final class BloomFilter {
+
+  private final long capacity;
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  BloomFilter(long expectedSize, double falsePositiveRate) {
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    long n = Math.max(expectedSize, 1);
+    this.capacity = n;
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    m = Math.max(64, (m + 63) & ~63L);
+    this.bits = new long[Math.toIntExact(m >>> 6)];
+    this.bitCount = m;
+    this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+  }
+
+  /** Number of hashes the filter was sized for. */
+  long capacity() {
+    return capacity;
+  }
+
+  void put(long hash) {
+    long step = step(hash);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(hash + i * step);
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  boolean mightContain(long hash) {
+    long step = step(hash);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(hash + i * step);
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Odd, so successive probes never repeat a bit before cycling through the whole filter.
+  private static long step(long hash) {
+    return Long.rotateLeft(hash, 32) | 1;
+  }
+
+  private long index(long combined) {
+    return Long.remainderUnsigned(combined, bitCount);
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.learningjava.registry;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Duplicate detection for email addresses without storing the addresses.
+ *
+ * <p>Each address is {@link #normalize normalized} and reduced to a 64-bit fingerprint kept in an
+ * open-addressing {@code long} set, roughly ten bytes per address instead of a {@code String} and a
+ * {@code HashSet} node. An optional Bloom filter in front answers most lookups of new addresses
+ * from a small bit array without probing the set; when the set outgrows the filter, the filter is
+ * rebuilt at twice the size from the stored fingerprints.
+ *
+ * <p>Two different addresses share a fingerprint with probability about {@code n^2 / 2^65}, which
+ * is negligible for tens of millions of addresses. Callers that need certainty can pass a {@link
+ * Verifier} (for example a database lookup) that is consulted only when a fingerprint matches. An
+ * address the verifier reports as a collision is kept verbatim in a small exact set, so it is
+ * deduplicated from then on without relying on the verifier again.
+ */
+public final class EmailRegistry {
+
+  /** Exact check against the system of record, used to confirm fingerprint matches. */
+  @FunctionalInterface
+  public interface Verifier {
+    boolean isRegistered(String normalizedEmail);
+  }
+
+  private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+  private final LongHashSet fingerprints;
+  private BloomFilter bloom;
+  private final Verifier verifier;
+  // Addresses whose fingerprint collided with a different, already registered address.
+  private final Set<String> collisions = new HashSet<>();
+
+  public EmailRegistry(int expectedSize) {
+    this(expectedSize, false, null);
+  }
+
+  /**
+   * @param expectedSize number of addresses to size the tables for; they still grow past it
+   * @param bloomFilter whether to put a Bloom filter in front of the fingerprint set
+   * @param verifier exact check for fingerprint matches, or null to trust fingerprints
+   */
+  public EmailRegistry(int expectedSize, boolean bloomFilter, Verifier verifier) {
+    this.fingerprints = new LongHashSet(expectedSize);
+    this.bloom = bloomFilter ? new BloomFilter(expectedSize, BLOOM_FALSE_POSITIVE_RATE) : null;
+    this.verifier = verifier;
+  }
+
+  /** Trims and lower-cases {@code email} so that equivalent spellings collide. */
+  public static String normalize(String email) {
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /** Registers {@code email}; returns false if it was already registered. */
+  public boolean add(String email) {
+    String normalized = normalize(email);
+    long fp = fingerprint(normalized);
+    if (fingerprints.add(fp)) {
+      if (bloom != null) {
+        bloom.put(fp);
+        if (fingerprints.size() > bloom.capacity()) {
+          growBloom();
+        }
+      }
+      return true;
+    }
+    // Fingerprint already present: a duplicate, unless the verifier says this is a collision.
+    if (collisions.contains(normalized) || verifier == null || verifier.isRegistered(normalized)) {
+      return false;
+    }
+    collisions.add(normalized);
+    return true;
+  }
+
+  public boolean contains(String email) {
+    String normalized = normalize(email);
+    long fp = fingerprint(normalized);
+    if (bloom != null && !bloom.mightContain(fp)) {
+      return false;
+    }
+    if (!fingerprints.contains(fp)) {
+      return false;
+    }
+    return verifier == null || collisions.contains(normalized) || verifier.isRegistered(normalized);
+  }
+
+  /** Returns the number of distinct addresses registered, counting each collision separately. */
+  public int size() {
+    return fingerprints.size() + collisions.size();
+  }
+
+  private void growBloom() {
+    BloomFilter larger = new BloomFilter(bloom.capacity() * 2, BLOOM_FALSE_POSITIVE_RATE);
+    fingerprints.forEach(larger::put);
+    bloom = larger;
+  }
+
+  /** 64-bit FNV-1a over the UTF-16 units, finished with the MurmurHash3 mixer. */
+  static long fingerprint(String normalized) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < normalized.length(); i++) {
+      h = (h ^ normalized.charAt(i)) * 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
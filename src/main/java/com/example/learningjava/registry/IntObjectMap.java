@@ -0,0 +1,230 @@
+package com.example.learningjava.registry;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Map from primitive {@code int} keys to non-null values, such as roll number to student.
+ *
+ * <p>By default keys and values sit in two parallel arrays probed linearly, so there is no boxed
+ * {@code Integer} key and no entry node per mapping. A map created {@link #withKeyRange with a key
+ * range} starts in dense mode instead: the value for key {@code k} lives at {@code values[k - min]}
+ * and a lookup is a single array read. A key outside the range moves the map to hashed mode for
+ * good. {@link #forEach} hands keys and values straight to a callback without creating {@code
+ * Map.Entry} objects; dense maps visit keys in ascending order, hashed maps in table order.
+ *
+ * @param <V> value type
+ */
+public final class IntObjectMap<V> {
+
+  /** Receives one mapping during {@link #forEach}. */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+    void accept(int key, V value);
+  }
+
+  private static final int MIN_CAPACITY = 16;
+
+  // Hashed mode: parallel arrays, a null value marks a free slot.
+  private int[] keys;
+  private Object[] values;
+  private int mask;
+
+  // Dense mode: values[key - base]; keys is null.
+  private int base;
+
+  private int size;
+
+  public IntObjectMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public IntObjectMap(int expectedSize) {
+    initHashed(expectedSize);
+  }
+
+  private IntObjectMap(int min, int max) {
+    if (max < min) {
+      throw new IllegalArgumentException("Key range is empty");
+    }
+    this.base = min;
+    this.values = new Object[Math.toIntExact((long) max - min + 1)];
+  }
+
+  /** Creates a map in dense mode for keys known to fall (mostly) in {@code [min, max]}. */
+  public static <V> IntObjectMap<V> withKeyRange(int min, int max) {
+    return new IntObjectMap<>(min, max);
+  }
+
+  /** Returns true while values are stored in a directly indexed array. */
+  public boolean isDense() {
+    return keys == null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public V get(int key) {
+    if (isDense()) {
+      long i = (long) key - base;
+      return i >= 0 && i < values.length ? value((int) i) : null;
+    }
+    int i = find(key);
+    return i < 0 ? null : value(i);
+  }
+
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /** Maps {@code key} to {@code value} and returns the previous value, or null. */
+  public V put(int key, V value) {
+    Objects.requireNonNull(value, "value");
+    if (isDense()) {
+      long i = (long) key - base;
+      if (i >= 0 && i < values.length) {
+        V previous = value((int) i);
+        values[(int) i] = value;
+        if (previous == null) {
+          size++;
+        }
+        return previous;
+      }
+      toHashed();
+    }
+    int i = slot(key);
+    while (values[i] != null) {
+      if (keys[i] == key) {
+        V previous = value(i);
+        values[i] = value;
+        return previous;
+      }
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+    if (++size > (mask + 1) * 3L / 4) {
+      rehash(keys.length * 2);
+    }
+    return null;
+  }
+
+  /** Removes the mapping for {@code key} and returns its value, or null. */
+  public V remove(int key) {
+    if (isDense()) {
+      long i = (long) key - base;
+      if (i < 0 || i >= values.length || values[(int) i] == null) {
+        return null;
+      }
+      V previous = value((int) i);
+      values[(int) i] = null;
+      size--;
+      return previous;
+    }
+    int i = find(key);
+    if (i < 0) {
+      return null;
+    }
+    V previous = value(i);
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones.
+    int hole = i;
+    int j = (i + 1) & mask;
+    while (values[j] != null) {
+      int home = slot(keys[j]);
+      if (((j - home) & mask) >= ((j - hole) & mask)) {
+        keys[hole] = keys[j];
+        values[hole] = values[j];
+        hole = j;
+      }
+      j = (j + 1) & mask;
+    }
+    values[hole] = null;
+    size--;
+    return previous;
+  }
+
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /** Passes every mapping to {@code action} without allocating entries. */
+  public void forEach(EntryConsumer<? super V> action) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        action.accept(isDense() ? base + i : keys[i], value(i));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V value(int i) {
+    return (V) values[i];
+  }
+
+  private int find(int key) {
+    int i = slot(key);
+    while (values[i] != null) {
+      if (keys[i] == key) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int slot(int key) {
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private void initHashed(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * 3L / 4 < expectedSize) {
+      capacity <<= 1;
+    }
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private void toHashed() {
+    Object[] dense = values;
+    int count = size;
+    initHashed(count + 1);
+    size = 0;
+    for (int i = 0; i < dense.length; i++) {
+      if (dense[i] != null) {
+        insertNew(base + i, dense[i]);
+      }
+    }
+    size = count;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        insertNew(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private void insertNew(int key, Object value) {
+    int i = slot(key);
+    while (values[i] != null) {
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+  }
+}
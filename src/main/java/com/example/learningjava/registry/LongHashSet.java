@@ -0,0 +1,103 @@
+package com.example.learningjava.registry;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of primitive {@code long}s.
+ *
+ * <p>Values sit directly in one {@code long[]} probed linearly, so an entry costs about ten bytes
+ * at the maximum load factor of 3/4 instead of a boxed {@code Long} plus a hash-map node. Slot
+ * value {@code 0} marks an empty slot; the value zero itself is tracked by a separate flag.
+ */
+final class LongHashSet {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] table;
+  private int mask;
+  private int size;
+  private boolean hasZero;
+
+  LongHashSet(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * 3L / 4 < expectedSize) {
+      capacity <<= 1;
+    }
+    table = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  /** Adds {@code value}; returns false if it was already present. */
+  boolean add(long value) {
+    if (value == 0) {
+      if (hasZero) {
+        return false;
+      }
+      hasZero = true;
+      size++;
+      return true;
+    }
+    int i = slot(value);
+    while (table[i] != 0) {
+      if (table[i] == value) {
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    table[i] = value;
+    if (++size > (mask + 1) * 3L / 4) {
+      grow();
+    }
+    return true;
+  }
+
+  boolean contains(long value) {
+    if (value == 0) {
+      return hasZero;
+    }
+    int i = slot(value);
+    while (table[i] != 0) {
+      if (table[i] == value) {
+        return true;
+      }
+      i = (i + 1) & mask;
+    }
+    return false;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Passes every value in the set to {@code action}, in no particular order. */
+  void forEach(LongConsumer action) {
+    if (hasZero) {
+      action.accept(0L);
+    }
+    for (long value : table) {
+      if (value != 0) {
+        action.accept(value);
+      }
+    }
+  }
+
+  private int slot(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  private void grow() {
+    long[] old = table;
+    table = new long[old.length * 2];
+    mask = table.length - 1;
+    for (long value : old) {
+      if (value != 0) {
+        int i = slot(value);
+        while (table[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        table[i] = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.registry.EmailRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EmailRegistryTest {
+
+  @Test
+  void dedupesNormalizedAddresses() {
+    EmailRegistry registry = new EmailRegistry(4);
+    assertTrue(registry.add("a@gmail.com"));
+    assertTrue(registry.add("b@gmail.com"));
+    assertFalse(registry.add("  A@GMAIL.com"));
+    assertTrue(registry.contains("B@gmail.com "));
+    assertFalse(registry.contains("c@gmail.com"));
+    assertEquals(2, registry.size());
+  }
+
+  @Test
+  void matchesHashSetWithBloomFilterAndGrowth() {
+    EmailRegistry registry = new EmailRegistry(100, true, null);
+    Set<String> expected = new HashSet<>();
+    for (int i = 0; i < 50_000; i++) {
+      String email = "user" + (i % 30_000) + "@example.com";
+      assertEquals(expected.add(email), registry.add(email));
+    }
+    assertEquals(expected.size(), registry.size());
+    for (int i = 0; i < 40_000; i++) {
+      String email = "user" + i + "@example.com";
+      assertEquals(expected.contains(email), registry.contains(email));
+    }
+  }
+
+  @Test
+  void verifierConfirmsFingerprintMatches() {
+    Set<String> database = new HashSet<>();
+    EmailRegistry registry = new EmailRegistry(16, false, database::contains);
+    assertTrue(registry.add("x@example.com"));
+    // Fingerprint is present but the system of record has not stored the address yet.
+    assertFalse(registry.contains("x@example.com"));
+    assertTrue(registry.add("x@example.com"));
+
+    database.add("x@example.com");
+    assertTrue(registry.contains("X@example.com"));
+    assertFalse(registry.add("x@example.com"));
+  }
+
+  @Test
+  void collisionsAreRememberedExactly() {
+    // A verifier that never finds anything makes every fingerprint match look like a collision.
+    EmailRegistry registry = new EmailRegistry(16, true, email -> false);
+    assertTrue(registry.add("y@example.com"));
+    assertTrue(registry.add("y@example.com"));
+    assertFalse(registry.add("Y@example.com"));
+    assertTrue(registry.contains("y@example.com"));
+    assertEquals(2, registry.size());
+  }
+}
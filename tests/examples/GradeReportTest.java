@@ -0,0 +1,73 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.oop.GradeReport;
+import com.example.learningjava.examples.oop.StudentManager;
+import com.example.learningjava.model.Student;
+import com.example.learningjava.model.StudentRoster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class GradeReportTest {
+
+  @Test
+  void reportSummarizesManagerRoster() {
+    StudentManager manager = new StudentManager();
+    manager.addStudent(student("A", 95));
+    manager.addStudent(student("B", 85));
+    manager.addStudent(student("C", 55));
+    GradeReport report = manager.report();
+    assertEquals(3, report.getCount());
+    assertEquals(78.333, report.getMeanAverage(), 0.001);
+    assertEquals(55.0, report.getMinAverage(), 0.0001);
+    assertEquals(95.0, report.getMaxAverage(), 0.0001);
+    assertEquals(1, report.getGradeCount("A"));
+    assertEquals(1, report.getGradeCount("F"));
+    assertEquals(85.0, report.percentile(50), 0.0001);
+  }
+
+  @Test
+  void parallelSplitMatchesSingleTask() {
+    List<Student> students = new ArrayList<>();
+    StudentRoster roster = new StudentRoster();
+    for (int i = 0; i < 10_000; i++) {
+      students.add(student("S" + i, i % 101));
+      roster.add("S" + i, i % 101);
+    }
+    GradeReport split = GradeReport.of(students, ForkJoinPool.commonPool(), 100);
+    GradeReport whole = GradeReport.of(students, ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+    GradeReport columnar = GradeReport.of(roster);
+    for (GradeReport r : List.of(whole, columnar)) {
+      assertEquals(split.getCount(), r.getCount());
+      assertEquals(split.getMeanAverage(), r.getMeanAverage(), 1e-9);
+      assertEquals(split.getGradeCount("C"), r.getGradeCount("C"));
+      assertEquals(split.percentile(90), r.percentile(90), 0.0);
+    }
+    assertEquals(90.0, split.percentile(90), 0.5);
+  }
+
+  @Test
+  void emptyRoster() {
+    GradeReport report = GradeReport.of(new ArrayList<>());
+    assertEquals(0, report.getCount());
+    assertEquals(0.0, report.percentile(50), 0.0);
+    assertFalse(report.toString().contains("Infinity"));
+  }
+
+  @Test
+  void rejectsNonPositiveThreshold() {
+    List<Student> students = List.of(student("A", 90), student("B", 80));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> GradeReport.of(students, ForkJoinPool.commonPool(), 0));
+  }
+
+  private static Student student(String name, int mark) {
+    Student s = new Student(name, 1);
+    s.setMarks(new int[] {mark});
+    return s;
+  }
+}
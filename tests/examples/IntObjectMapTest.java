@@ -0,0 +1,68 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.registry.IntObjectMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntObjectMapTest {
+
+  @Test
+  void hashedModeMatchesHashMap() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    Map<Integer, String> expected = new HashMap<>();
+    Random random = new Random(3);
+    for (int i = 0; i < 100_000; i++) {
+      int key = random.nextInt(5_000) - 2_500;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        String value = "v" + i;
+        assertEquals(expected.put(key, value), map.put(key, value));
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (int key = -2_600; key < 2_600; key++) {
+      assertEquals(expected.get(key), map.get(key));
+    }
+    Map<Integer, String> visited = new HashMap<>();
+    map.forEach((k, v) -> visited.put(k, v));
+    assertEquals(expected, visited);
+  }
+
+  @Test
+  void denseModeVisitsInKeyOrderAndFallsBackToHashing() {
+    IntObjectMap<String> map = IntObjectMap.withKeyRange(100, 199);
+    for (int roll = 199; roll >= 100; roll -= 3) {
+      map.put(roll, "s" + roll);
+    }
+    assertTrue(map.isDense());
+    assertEquals("s103", map.get(103));
+    assertNull(map.get(99));
+    assertEquals("s103", map.remove(103));
+    assertNull(map.remove(103));
+
+    int[] last = {Integer.MIN_VALUE};
+    map.forEach(
+        (k, v) -> {
+          assertTrue(k > last[0]);
+          assertEquals("s" + k, v);
+          last[0] = k;
+        });
+
+    int size = map.size();
+    map.put(5_000, "far");
+    assertFalse(map.isDense());
+    assertEquals(size + 1, map.size());
+    assertEquals("far", map.get(5_000));
+    assertEquals("s199", map.get(199));
+  }
+
+  @Test
+  void rejectsNullValues() {
+    assertThrows(NullPointerException.class, () -> new IntObjectMap<String>().put(1, null));
+  }
+}
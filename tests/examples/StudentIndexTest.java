@@ -0,0 +1,73 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.index.StudentIndex;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class StudentIndexTest {
+
+  @Test
+  void answersRankingRangeAndPrefixQueries() {
+    List<Student> students =
+        List.of(
+            student("Alice", 85),
+            student("Bob", 92),
+            student("Charlie", 78),
+            student("Diana", 96),
+            student("Alex", 92),
+            student("Ben", 60));
+    StudentIndex index = StudentIndex.of(students);
+
+    assertEquals(List.of("Diana", "Bob", "Alex"), names(index.topN(3)));
+    assertEquals(List.of("Alice", "Bob", "Alex"), names(index.marksBetween(80, 95)));
+    assertEquals(3, index.countMarksBetween(80, 95));
+    assertEquals(List.of("Alex", "Alice"), names(index.nameStartsWith("Al")));
+    assertEquals(2, index.countNameStartsWith("B"));
+    assertEquals(0, index.countNameStartsWith("Z"));
+    assertEquals(6, index.countNameStartsWith(""));
+  }
+
+  @Test
+  void refreshMovesChangedStudent() {
+    Student s = student("Eve", 50);
+    StudentIndex index = StudentIndex.of(List.of(s, student("Frank", 70)));
+    s.setMarks(99);
+    s.setName("Zed");
+    index.refresh(s);
+    assertSame(s, index.topN(1).get(0));
+    assertEquals(0, index.countNameStartsWith("Eve"));
+    assertEquals(1, index.countNameStartsWith("Z"));
+    assertTrue(index.remove(s));
+    assertEquals(1, index.size());
+    assertEquals(0, index.countMarksBetween(99, 99));
+  }
+
+  @Test
+  void topNMatchesFullSort() {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      students.add(student("S" + i, (i * 37) % 101));
+    }
+    StudentIndex index = StudentIndex.of(students);
+    List<Student> sorted = new ArrayList<>(students);
+    sorted.sort(Comparator.comparingInt(Student::getMarks).reversed());
+    assertEquals(sorted.subList(0, 25), index.topN(25));
+  }
+
+  private static List<String> names(List<Student> students) {
+    return students.stream().map(Student::getName).collect(Collectors.toList());
+  }
+
+  private static Student student(String name, int marks) {
+    Student s = new Student();
+    s.setName(name);
+    s.setMarks(marks);
+    return s;
+  }
+}
@@ -0,0 +1,81 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.index.StudentIndex;
+import com.example.learningjava.query.StudentQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class StudentQueryTest {
+
+  private final List<Student> students =
+      List.of(
+          student("Alice", 85),
+          student("Bob", 92),
+          student("Charlie", 78),
+          student("Diana", 96),
+          student("Eve", 88),
+          student("Adam", 55));
+
+  @Test
+  void fusedScanMatchesStreams() {
+    StudentQuery query =
+        StudentQuery.from(students).marksBetween(80, 100).filter(s -> s.getName().length() > 3);
+
+    List<String> expected =
+        students.stream()
+            .filter(s -> s.getMarks() >= 80 && s.getName().length() > 3)
+            .map(Student::getName)
+            .collect(Collectors.toList());
+    assertEquals(expected, query.names());
+    assertEquals(2, query.count());
+    assertArrayEquals(new int[] {90, 101}, query.mapMarks(m -> m + 5).marks());
+    assertEquals(85 + 96, query.sumMarks());
+  }
+
+  @Test
+  void rangeAfterMappingTestsMappedMarks() {
+    StudentQuery query = StudentQuery.from(students).mapMarks(m -> m + 5).marksBetween(90, 100);
+    assertEquals(List.of("Alice", "Bob", "Eve"), query.names());
+    assertEquals(List.of("A", "A", "A"), query.grades());
+  }
+
+  @Test
+  void indexPushdownMatchesScan() {
+    List<Student> many = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      many.add(student((i % 3 == 0 ? "A" : "B") + i, i % 101));
+    }
+    StudentIndex index = StudentIndex.of(many);
+
+    assertEquals(
+        StudentQuery.from(many).marksBetween(40, 60).count(),
+        StudentQuery.from(index).marksBetween(40, 60).count());
+    assertEquals(
+        StudentQuery.from(many).nameStartsWith("A1").marksBetween(0, 10).count(),
+        StudentQuery.from(index).nameStartsWith("A1").marksBetween(0, 10).count());
+    assertEquals(
+        StudentQuery.from(many).nameStartsWith("B").filter(s -> s.getMarks() % 2 == 0).sumMarks(),
+        StudentQuery.from(index).nameStartsWith("B").filter(s -> s.getMarks() % 2 == 0).sumMarks());
+  }
+
+  @Test
+  void contradictoryPredicatesMatchNothing() {
+    assertEquals(0, StudentQuery.from(students).nameStartsWith("A").nameStartsWith("B").count());
+    assertEquals(0, StudentQuery.from(students).marksBetween(90, 100).marksBetween(0, 50).count());
+    assertEquals(
+        List.of("Alice"),
+        StudentQuery.from(students).nameStartsWith("A").nameStartsWith("Al").names());
+  }
+
+  private static Student student(String name, int marks) {
+    Student s = new Student();
+    s.setName(name);
+    s.setMarks(marks);
+    return s;
+  }
+}
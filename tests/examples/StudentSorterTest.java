@@ -0,0 +1,78 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.collections.ComparatorByName;
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.examples.collections.StudentSorter;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class StudentSorterTest {
+
+  @Test
+  void countingSortMatchesCollectionsSort() {
+    List<Student> students = randomStudents(2_000);
+    List<Student> expected = new ArrayList<>(students);
+    Collections.sort(expected);
+    StudentSorter.sortByMarks(students);
+    assertEquals(expected, students);
+
+    Collections.shuffle(students, new Random(1));
+    expected = new ArrayList<>(students);
+    expected.sort(Comparator.comparingInt(Student::getMarks).reversed());
+    StudentSorter.sortByMarksDescending(students);
+    assertEquals(expected, students);
+  }
+
+  @Test
+  void nameSortMatchesComparatorByName() {
+    List<Student> students = randomStudents(2_000);
+    students.add(student("Ab", 1));
+    students.add(student("Ab\u0000", 1));
+    students.add(student("", 1));
+    students.add(student("\uffffz", 1));
+    List<Student> expected = new ArrayList<>(students);
+    Collections.sort(expected, new ComparatorByName());
+    StudentSorter.sortByName(students);
+    assertEquals(expected, students);
+  }
+
+  @Test
+  void collatorSortIsLocaleAware() {
+    List<Student> students = new ArrayList<>(List.of(student("bob", 1), student("Alice", 2)));
+    StudentSorter.sortByName(students, Collator.getInstance(Locale.ENGLISH));
+    assertEquals("Alice", students.get(0).getName());
+  }
+
+  @Test
+  void compareToHandlesExtremesWithoutOverflow() {
+    Student low = student("Low", 0);
+    Student high = student("High", 100);
+    assertTrue(low.compareTo(high) < 0);
+    assertTrue(high.compareTo(low) > 0);
+    assertEquals(0, low.compareTo(student("Other", 0)));
+  }
+
+  private static List<Student> randomStudents(int n) {
+    Random rnd = new Random(7);
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      students.add(student("N" + rnd.nextInt(500), rnd.nextInt(101)));
+    }
+    return students;
+  }
+
+  private static Student student(String name, int marks) {
+    Student s = new Student();
+    s.setName(name);
+    s.setMarks(marks);
+    return s;
+  }
+}
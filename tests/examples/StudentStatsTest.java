@@ -0,0 +1,69 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.examples.streams.StudentStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class StudentStatsTest {
+
+  @Test
+  void singlePassMatchesSeparateReductions() {
+    List<Student> students =
+        List.of(
+            student("Alice", 85),
+            student("Bob", 92),
+            student("Charlie", 78),
+            student("Diana", 96),
+            student("Eve", 88));
+    StudentStats stats = students.stream().collect(StudentStats.collector());
+
+    assertEquals(5, stats.getCount());
+    assertEquals(439, stats.getSum());
+    assertEquals(87.8, stats.getAverage().getAsDouble(), 0.0001);
+    assertEquals(96, stats.getMax().getAsInt());
+    assertEquals(78, stats.getMin().getAsInt());
+    assertEquals(2, stats.getHighScorers());
+    assertEquals("Alice, Bob, Charlie, Diana, Eve", stats.getNames());
+    assertEquals("Diana", stats.getTopStudent().get().getName());
+    assertEquals(85L * 92 * 78 * 96 * 88, stats.getProduct());
+    assertEquals(2, stats.getGradeCount("A"));
+    assertEquals(2, stats.getGradeCount("B"));
+    assertEquals(1, stats.getGradeCount("C"));
+  }
+
+  @Test
+  void parallelMatchesSequential() {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      students.add(student("S" + i, i % 101));
+    }
+    StudentStats seq = students.stream().collect(StudentStats.collector());
+    StudentStats par = students.parallelStream().collect(StudentStats.collector());
+    assertEquals(seq.getSum(), par.getSum());
+    assertEquals(seq.getNames(), par.getNames());
+    assertEquals(
+        students.stream().map(Student::getName).collect(Collectors.joining(", ")), par.getNames());
+    assertSame(seq.getTopStudent().get(), par.getTopStudent().get());
+    assertEquals(seq.getGradeCount("F"), par.getGradeCount("F"));
+  }
+
+  @Test
+  void emptyStream() {
+    StudentStats stats = new ArrayList<Student>().stream().collect(StudentStats.collector());
+    assertFalse(stats.getAverage().isPresent());
+    assertFalse(stats.getTopStudent().isPresent());
+    assertEquals("", stats.getNames());
+  }
+
+  private static Student student(String name, int marks) {
+    Student s = new Student();
+    s.setName(name);
+    s.setMarks(marks);
+    return s;
+  }
+}
@@ -0,0 +1,59 @@
+package examples;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.collections.Student;
+import com.example.learningjava.examples.streams.TopK;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+  @Test
+  void selectsGreatestInOrder() {
+    List<Integer> values = new ArrayList<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 10_000; i++) {
+      values.add(random.nextInt(1_000_000));
+    }
+    List<Integer> expected =
+        values.stream().sorted(Comparator.reverseOrder()).limit(100).collect(Collectors.toList());
+
+    assertEquals(expected, TopK.select(values, 100, Comparator.naturalOrder()));
+    assertEquals(expected, TopK.selectParallel(values, 100, Comparator.naturalOrder()));
+  }
+
+  @Test
+  void selectsTopStudentsByMarks() {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Student s = new Student();
+      s.setName("S" + i);
+      s.setMarks(i % 101);
+      students.add(s);
+    }
+    List<Student> top = TopK.select(students, 5, Comparator.comparingInt(Student::getMarks));
+    assertEquals(5, top.size());
+    assertEquals(100, top.get(0).getMarks());
+    assertEquals(99, top.get(4).getMarks());
+  }
+
+  @Test
+  void handlesSmallInputsAndZeroK() {
+    assertEquals(List.of(3, 2, 1), TopK.select(List.of(2, 3, 1), 10, Comparator.naturalOrder()));
+    List<Integer> hundred = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      hundred.add(i);
+    }
+    List<Integer> all = TopK.select(hundred, Integer.MAX_VALUE, Comparator.naturalOrder());
+    assertEquals(100, all.size());
+    assertEquals(99, all.get(0));
+    assertTrue(TopK.select(List.of(1, 2), 0, Comparator.<Integer>naturalOrder()).isEmpty());
+    assertThrows(
+        IllegalArgumentException.class, () -> new TopK<Integer>(-1, Comparator.naturalOrder()));
+  }
+}
@@ -0,0 +1,78 @@
+package io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.oop.StudentManager;
+import com.example.learningjava.io.ReportFormat;
+import com.example.learningjava.io.ReportSink;
+import com.example.learningjava.model.Student;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportSinkTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void largeValuesWithManyDecimalsStayExact() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ReportSink sink = new ReportSink(Channels.newChannel(bytes), true, ReportFormat.CSV, 64)) {
+      sink.cell(1e12, 9).cell(123456789012.5, 8).cell(-2e20, 2).endRow();
+    }
+    assertEquals(
+        "1000000000000.000000000,123456789012.50000000,-200000000000000000000.00\n",
+        bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void csvQuotesSpecialCharacters() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ReportSink sink = new ReportSink(Channels.newChannel(bytes), true, ReportFormat.CSV, 64)) {
+      sink.cell("Smith, Jo").cell(-3).cell(2.5, 2).endRow();
+      sink.cell("Say \"hi\"").cell(0.004, 2).endRow();
+      sink.cell("Zoë").cell(-0.001, 1);
+    }
+    assertEquals(
+        "\"Smith, Jo\",-3,2.50\n\"Say \"\"hi\"\"\",0.00\nZoë,0.0\n",
+        bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void fixedWidthPadsTruncatesTextAndFlagsWideNumbers() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ReportSink sink =
+        new ReportSink(Channels.newChannel(bytes), true, ReportFormat.FIXED_WIDTH, 64, 5, 4)) {
+      sink.cell("Al").cell(7).endRow();
+      sink.cell("Alexander").cell(100.25, 1).endRow();
+      sink.cell("Bo").cell(12345).endRow();
+      assertThrows(IllegalStateException.class, () -> sink.cell("a").cell("b").cell("c"));
+    }
+    String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals("Al       7", lines[0]);
+    assertEquals("Alexa ####", lines[1]);
+    assertEquals("Bo    ####", lines[2]);
+  }
+
+  @Test
+  void largeReportWrittenToFile() throws Exception {
+    StudentManager manager = new StudentManager();
+    for (int i = 0; i < 5_000; i++) {
+      Student s = new Student("Student" + i, 2);
+      s.setMarks(new int[] {i % 100, 90});
+      manager.addStudent(s);
+    }
+    Path path = dir.resolve("report.csv");
+    try (ReportSink sink = ReportSink.toFile(path, ReportFormat.CSV)) {
+      manager.writeReport(sink);
+    }
+    var lines = Files.readAllLines(path);
+    assertEquals(5_000, lines.size());
+    assertEquals("Student0,45.00,F", lines.get(0));
+    assertEquals("Student99,94.50,A", lines.get(99));
+  }
+}
@@ -0,0 +1,93 @@
+package io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.io.RosterReader;
+import com.example.learningjava.model.Student;
+import com.example.learningjava.model.StudentRoster;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RosterReaderTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void parsesVariableMarksQuotesAndBlankLines() throws Exception {
+    Path path =
+        write("name,marks\r\nAlice,90,80,70\r\n\n\"Smith, \"\"Jo\"\"\", 85 ,\nBob\nZoë,-5,+7");
+    List<Student> students = new ArrayList<>();
+    long count = new RosterReader(',', true, 8).readStudents(path, students::add);
+
+    assertEquals(4, count);
+    assertEquals("Alice", students.get(0).getName());
+    assertArrayEquals(new int[] {90, 80, 70}, students.get(0).getMarks());
+    assertEquals("Smith, \"Jo\"", students.get(1).getName());
+    assertArrayEquals(new int[] {85}, students.get(1).getMarks());
+    assertEquals(0, students.get(2).getSubjectCount());
+    assertEquals("Zoë", students.get(3).getName());
+    assertArrayEquals(new int[] {-5, 7}, students.get(3).getMarks());
+  }
+
+  @Test
+  void tsvIntoRoster() throws Exception {
+    Path path = write(" Ann \t95\t92\nBen\t60\n");
+    StudentRoster roster = new StudentRoster();
+    assertEquals(2, RosterReader.tsv().readInto(path, roster));
+    assertEquals("Ann", roster.getName(0));
+    assertEquals(93.5, roster.calculateAverage(0), 0.0001);
+    assertEquals("D", roster.calculateGrade(1));
+  }
+
+  @Test
+  void reportsLineOfBadMark() throws Exception {
+    Path path = write("Ann,1\nBen,9x\n");
+    IOException ex =
+        assertThrows(IOException.class, () -> RosterReader.csv().read(path, (n, m, c) -> {}));
+    assertTrue(ex.getMessage().startsWith("Line 2"));
+    Path unterminated = write("\"Ann,1\n");
+    assertThrows(IOException.class, () -> RosterReader.csv().read(unterminated, (n, m, c) -> {}));
+  }
+
+  @Test
+  void handlesManyRowsWithSmallBuffer() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2_000; i++) {
+      sb.append("Student")
+          .append(i)
+          .append(',')
+          .append(i % 101)
+          .append(',')
+          .append(50)
+          .append('\n');
+    }
+    Path path = write(sb.toString());
+    long[] total = {0};
+    long count =
+        new RosterReader(',', false, 7)
+            .read(
+                path,
+                (name, marks, markCount) -> {
+                  assertEquals(2, markCount);
+                  total[0] += marks[0];
+                });
+    assertEquals(2_000, count);
+    long expected = 0;
+    for (int i = 0; i < 2_000; i++) {
+      expected += i % 101;
+    }
+    assertEquals(expected, total[0]);
+  }
+
+  private Path write(String content) throws IOException {
+    Path path = Files.createTempFile(dir, "roster", ".csv");
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+}
@@ -3,6 +3,7 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.TransactionStatus;
 import org.junit.jupiter.api.Test;
 
 class AccountTest {
@@ -26,4 +27,13 @@ class AccountTest {
     Exception ex = assertThrows(IllegalArgumentException.class, () -> acc.withdraw(100.0));
     assertTrue(ex.getMessage().contains("Insufficient"));
   }
+
+  @Test
+  void tryWithdrawReportsInsufficientFundsWithoutChange() {
+    Account acc = new Account("Test User", 50.0);
+    assertEquals(TransactionStatus.INSUFFICIENT_FUNDS, acc.tryWithdraw(100.0));
+    assertEquals(50.0, acc.getBalance(), 0.001);
+    assertEquals(TransactionStatus.OK, acc.tryWithdraw(20.0));
+    assertEquals(30.0, acc.getBalance(), 0.001);
+  }
 }
@@ -0,0 +1,90 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.FixedPointAccount;
+import com.example.learningjava.examples.banking.FixedPointSavingsAccount;
+import com.example.learningjava.examples.banking.MoneyScale;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FixedPointAccountTest {
+
+  @Test
+  void balanceIsExactInMinorUnits() {
+    FixedPointAccount acc = new FixedPointAccount("Test", 0.0);
+    for (int i = 0; i < 10; i++) {
+      acc.deposit(0.1);
+    }
+    assertEquals(100, acc.getBalanceMinor());
+    assertEquals(1.0, acc.getBalance(), 0.0);
+  }
+
+  @Test
+  void withdrawThrowsOnInsufficientFunds() {
+    FixedPointAccount acc = new FixedPointAccount("Test", 50.0);
+    Exception ex = assertThrows(IllegalArgumentException.class, () -> acc.withdraw(100.0));
+    assertTrue(ex.getMessage().contains("Insufficient"));
+    assertEquals(5000, acc.getBalanceMinor());
+  }
+
+  @Test
+  void scaleIsConfigurable() {
+    FixedPointAccount acc = new FixedPointAccount("Test", 1.2345, new MoneyScale(4));
+    assertEquals(12345, acc.getBalanceMinor());
+    assertThrows(IllegalArgumentException.class, () -> new MoneyScale(10));
+  }
+
+  @Test
+  void savingsInterestUsesBasisPoints() {
+    FixedPointSavingsAccount acc = new FixedPointSavingsAccount();
+    acc.deposit(1000);
+    acc.calculateInterest();
+    assertEquals(104000, acc.getBalanceMinor());
+  }
+
+  @Test
+  void transferMovesMinorUnits() {
+    FixedPointAccount from = new FixedPointAccount("From", 200.0);
+    FixedPointAccount to = new FixedPointAccount("To", 50.0);
+    new FixedPointSavingsAccount().transfer(from, to, 100.01);
+    assertEquals(9999, from.getBalanceMinor());
+    assertEquals(15001, to.getBalanceMinor());
+  }
+
+  @Test
+  void concurrentDepositsAreNotLost() throws InterruptedException {
+    FixedPointAccount acc = new FixedPointAccount("Test", 0.0);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread th =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  acc.depositMinor(1);
+                }
+              });
+      threads.add(th);
+      th.start();
+    }
+    for (Thread th : threads) {
+      th.join();
+    }
+    assertEquals(40_000, acc.getBalanceMinor());
+  }
+
+  @Test
+  void rejectsAmountsThatDoNotFitMinorUnits() {
+    MoneyScale cents = MoneyScale.CENTS;
+    assertThrows(IllegalArgumentException.class, () -> cents.toMinor(Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> cents.toMinor(Double.POSITIVE_INFINITY));
+    assertThrows(IllegalArgumentException.class, () -> cents.toMinor(-1e17));
+    assertEquals(-150, cents.toMinor(-1.5));
+
+    FixedPointAccount acc = new FixedPointAccount("Test", 0.0);
+    acc.depositMinor(Long.MAX_VALUE);
+    assertThrows(ArithmeticException.class, () -> acc.depositMinor(1));
+    assertEquals(Long.MAX_VALUE, acc.getBalanceMinor());
+  }
+}
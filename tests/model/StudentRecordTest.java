@@ -0,0 +1,81 @@
+package com.example.learningjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class StudentRecordTest {
+
+  @Test
+  void roundTripsThroughStudent() {
+    Student alice = new Student("Alice", 3);
+    alice.setMarks(new int[] {100, 85, 0});
+
+    StudentRecord record = StudentRecord.from(alice);
+    assertEquals("Alice", record.getName());
+    assertArrayEquals(new int[] {100, 85, 0}, record.getMarks());
+    assertEquals(alice.calculateAverage(), record.calculateAverage(), 1e-9);
+    assertEquals(alice.calculateGrade(), record.calculateGrade());
+
+    Student copy = record.toStudent();
+    assertArrayEquals(alice.getMarks(), copy.getMarks());
+    assertEquals(alice.calculateAverage(), copy.calculateAverage(), 1e-9);
+  }
+
+  @Test
+  void withMarkReturnsNewRecord() {
+    StudentRecord record = StudentRecord.of("Bob", 70, 80);
+    StudentRecord updated = record.withMark(1, 100);
+    assertEquals(80, record.getMark(1));
+    assertEquals(100, updated.getMark(1));
+    assertEquals(85.0, updated.calculateAverage(), 1e-9);
+    assertEquals(StudentRecord.of("Bob", 70, 100), updated);
+    assertEquals(StudentRecord.of("Bob", 70, 100).hashCode(), updated.hashCode());
+  }
+
+  @Test
+  void acceptsTheSameMarksAsStudent() {
+    Student erin = new Student("Erin", 3);
+    erin.setMarks(new int[] {-10, 50, 100});
+    StudentRecord record = StudentRecord.from(erin);
+    assertArrayEquals(new int[] {-10, 50, 100}, record.getMarks());
+    assertEquals(erin.calculateAverage(), record.calculateAverage(), 1e-9);
+
+    StudentRecord wide = record.withMark(1, 1_000);
+    assertEquals(1_000, wide.getMark(1));
+    assertEquals(1_090, wide.getSum());
+    assertArrayEquals(new int[] {-10, 1_000, 100}, wide.toStudent().getMarks());
+    assertEquals(StudentRecord.of("Erin", -10, 1_000, 100), wide);
+    assertEquals(record, wide.withMark(1, 50));
+  }
+
+  @Test
+  void rosterAcceptsRecords() {
+    StudentRoster roster = new StudentRoster();
+    int i = roster.add(StudentRecord.of("Cara", 90, 95));
+    assertEquals(92.5, roster.calculateAverage(i), 1e-9);
+    assertEquals(StudentRecord.of("Cara", 90, 95), roster.toRecord(i));
+  }
+
+  @Test
+  void bothStudentApisShareTheRecord() {
+    com.example.learningjava.examples.collections.Student s =
+        new com.example.learningjava.examples.collections.Student();
+    s.setName("Dan");
+    s.setMarks(77);
+
+    StudentRecord record = s.toRecord();
+    assertEquals(1, record.getSubjectCount());
+    assertEquals(77, record.getMark(0));
+    Student model = Student.fromRecord(record);
+    assertEquals("Dan", model.getName());
+    assertEquals(77.0, model.calculateAverage(), 1e-9);
+
+    Student two = new Student("Dan", 2);
+    two.setMarks(new int[] {77, 80});
+    com.example.learningjava.examples.collections.Student back =
+        com.example.learningjava.examples.collections.Student.fromRecord(two.toRecord());
+    assertEquals("Dan", back.getName());
+    assertEquals(79, back.getMarks());
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.learningjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StudentRosterTest {
+
+  @Test
+  void matchesStudentAverageAndGrade() {
+    Student alice = new Student("Alice", 3);
+    alice.setMarks(new int[] {90, 80, 70});
+    Student bob = new Student("Bob", 4);
+    bob.setMarks(new int[] {95, 92, 90, 93});
+    StudentRoster roster = StudentRoster.of(List.of(alice, bob));
+
+    assertEquals(2, roster.size());
+    assertEquals(alice.calculateAverage(), roster.calculateAverage(0), 0.0001);
+    assertEquals(bob.calculateGrade(), roster.calculateGrade(1));
+    assertEquals("Bob", roster.getName(1));
+    assertEquals(4, roster.getSubjectCount(1));
+  }
+
+  @Test
+  void internsNamesAndGrows() {
+    StudentRoster roster = new StudentRoster();
+    for (int i = 0; i < 100; i++) {
+      roster.add(i % 2 == 0 ? "Even" : "Odd", i, 100 - i);
+    }
+    assertEquals(100, roster.size());
+    assertEquals(2, roster.distinctNames());
+    double[] averages = roster.averages();
+    for (double avg : averages) {
+      assertEquals(50.0, avg, 0.0001);
+    }
+  }
+
+  @Test
+  void emptyMarksAndUpdates() {
+    StudentRoster roster = new StudentRoster();
+    roster.add("Empty");
+    int idx = roster.add("Dave", 0, 0);
+    assertEquals(0.0, roster.calculateAverage(0), 0.0001);
+    assertEquals("F", roster.calculateGrade(0));
+    roster.setMark(idx, 1, 100);
+    assertEquals(50.0, roster.calculateAverage(idx), 0.0001);
+    assertArrayEquals(new int[] {0, 100}, roster.toStudent(idx).getMarks());
+    assertThrows(IndexOutOfBoundsException.class, () -> roster.getMark(idx, 2));
+  }
+}
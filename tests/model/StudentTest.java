@@ -34,4 +34,33 @@ public class StudentTest {
     assertEquals(0.0, s.calculateAverage(), 0.0001);
     assertEquals("F", s.calculateGrade());
   }
+
+  @Test
+  void testSetMarkUpdatesAverageIncrementally() {
+    Student s = new Student("Erin", 3);
+    s.setMarks(new int[] {60, 70, 80});
+    s.setMark(0, 90);
+    assertEquals(80.0, s.calculateAverage(), 0.0001);
+    assertEquals(90, s.getMark(0));
+    assertEquals(3, s.getSubjectCount());
+    assertEquals("B", s.calculateGrade());
+  }
+
+  @Test
+  void testMarksArrayIsNotShared() {
+    int[] marks = {90, 90};
+    Student s = new Student("Finn", 2);
+    s.setMarks(marks);
+    marks[0] = 0;
+    s.getMarks()[1] = 0;
+    assertEquals(90.0, s.calculateAverage(), 0.0001);
+  }
+
+  @Test
+  void testSetMarkDeltaDoesNotOverflowInt() {
+    Student s = new Student("Gail", 2);
+    s.setMarks(new int[] {Integer.MIN_VALUE, 0});
+    s.setMark(0, Integer.MAX_VALUE);
+    assertEquals(Integer.MAX_VALUE / 2.0, s.calculateAverage(), 0.0001);
+  }
 }
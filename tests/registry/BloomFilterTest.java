@@ -0,0 +1,38 @@
+package com.example.learningjava.registry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+  @Test
+  void staysNearTargetFalsePositiveRate() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      long hash = EmailRegistry.fingerprint("in" + i);
+      filter.put(hash);
+      assertTrue(filter.mightContain(hash));
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(EmailRegistry.fingerprint("out" + i))) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+  }
+
+  @Test
+  void rebuildsFromFingerprintSet() {
+    LongHashSet fingerprints = new LongHashSet(4);
+    for (long v = 0; v < 1_000; v++) {
+      fingerprints.add(v * 0x9E3779B97F4A7C15L);
+    }
+    BloomFilter filter = new BloomFilter(fingerprints.size(), 0.01);
+    fingerprints.forEach(filter::put);
+    for (long v = 0; v < 1_000; v++) {
+      assertTrue(filter.mightContain(v * 0x9E3779B97F4A7C15L));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.AccountBook;
+import com.example.learningjava.examples.banking.TransactionJournal;
+import com.example.learningjava.examples.banking.server.AccountServer;
+import com.example.learningjava.examples.banking.server.LoadClient;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccountServerTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void answersPipelinedRequestsInOrder() throws Exception {
+    try (AccountServer server = new AccountServer(new AccountBook(), 0);
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+      OutputStream out = socket.getOutputStream();
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      String requests =
+          "OPEN 1 100\nOPEN 2 0\nXFER 1 2 40\nWD 2 100\nXFER 2 1 0\nBAL 1\nBAL 2\nNOPE\n";
+      out.write(requests.getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+
+      assertEquals("OK", in.readLine());
+      assertEquals("OK", in.readLine());
+      assertEquals("OK", in.readLine());
+      assertEquals("ERR Insufficient funds", in.readLine());
+      assertEquals("REJ INVALID_AMOUNT", in.readLine());
+      assertEquals("OK 60.0", in.readLine());
+      assertEquals("OK 40.0", in.readLine());
+      assertEquals("ERR Unknown command: NOPE", in.readLine());
+    }
+  }
+
+  @Test
+  void loadClientConservesMoneyAndReportsPercentiles() throws Exception {
+    try (AccountServer server = new AccountServer(new AccountBook(), 0)) {
+      int clients = 20;
+      LoadClient.Result result = LoadClient.run(server.getPort(), clients, 200, 8);
+      assertEquals(clients * 200, result.getRequests());
+      assertEquals(0, result.getErrors());
+      assertTrue(result.percentileMicros(0.5) <= result.percentileMicros(0.99));
+
+      AccountBook book = server.getBook();
+      double total = 0;
+      for (long id = 0; id < clients; id++) {
+        total += book.balance(id);
+      }
+      // Opening balances plus acknowledged deposits of 1; transfers only move money.
+      assertTrue(result.getDeposits() > 0);
+      assertEquals(clients * 1000.0 + result.getDeposits(), total, 1e-6);
+    }
+  }
+
+  @Test
+  void pipelinedBatchSharesJournalSyncs() throws Exception {
+    TransactionJournal journal = TransactionJournal.open(dir.resolve("server.journal"));
+    int deposits = 500;
+    try (AccountServer server = new AccountServer(new AccountBook(journal), 0);
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      StringBuilder requests = new StringBuilder("OPEN 1 0\n");
+      for (int i = 0; i < deposits; i++) {
+        requests.append("DEP 1 1\n");
+      }
+      socket.getOutputStream().write(requests.toString().getBytes(StandardCharsets.US_ASCII));
+      for (int i = 0; i <= deposits; i++) {
+        assertEquals("OK", in.readLine());
+      }
+      assertEquals(deposits, server.getBook().balance(1), 0.001);
+    } finally {
+      journal.close();
+    }
+    assertTrue(journal.getSyncCount() < 1 + deposits);
+  }
+
+  @Test
+  void overlongLineIsRefused() throws Exception {
+    try (AccountServer server = new AccountServer(new AccountBook(), 0);
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      OutputStream out = socket.getOutputStream();
+      out.write("OPEN 1 5\n".getBytes(StandardCharsets.US_ASCII));
+      out.write(new byte[AccountServer.MAX_LINE_LENGTH + 2]);
+      out.flush();
+      socket.setSoTimeout(5_000);
+      assertEquals("OK", in.readLine());
+      assertEquals("ERR Line too long", in.readLine());
+      assertNull(in.readLine());
+    }
+  }
+
+  @Test
+  void closeDisconnectsOpenClients() throws Exception {
+    AccountServer server = new AccountServer(new AccountBook(), 0);
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      socket.getOutputStream().write("OPEN 1 5\n".getBytes(StandardCharsets.US_ASCII));
+      assertEquals("OK", in.readLine());
+
+      server.close();
+      socket.setSoTimeout(5_000);
+      assertNull(in.readLine());
+    }
+  }
+}
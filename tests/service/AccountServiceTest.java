@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.example.learningjava.examples.banking.Account;
 import com.example.learningjava.examples.banking.SavingsAccount;
+import com.example.learningjava.examples.banking.TransactionStatus;
 import org.junit.jupiter.api.Test;
 
 class AccountServiceTest {
@@ -26,4 +27,26 @@ class AccountServiceTest {
         assertThrows(IllegalArgumentException.class, () -> svc.transfer(from, to, -10.0));
     assertTrue(ex.getMessage().contains("positive"));
   }
+
+  @Test
+  void tryTransferReportsRejectionsAsStatus() {
+    Account from = new Account("From", 100.0);
+    Account to = new Account("To", 0.0);
+    SavingsAccount svc = new SavingsAccount();
+    assertEquals(TransactionStatus.INVALID_AMOUNT, svc.tryTransfer(from, to, 0.0));
+    assertEquals(TransactionStatus.INSUFFICIENT_FUNDS, svc.tryTransfer(from, to, 150.0));
+    assertEquals(100.0, from.getBalance(), 0.001);
+    assertEquals(TransactionStatus.OK, svc.tryTransfer(from, to, 60.0));
+    assertEquals(40.0, from.getBalance(), 0.001);
+    assertEquals(60.0, to.getBalance(), 0.001);
+  }
+
+  @Test
+  void transferThrowsOnInsufficientBalance() {
+    Account from = new Account("From", 10.0);
+    Account to = new Account("To", 0.0);
+    SavingsAccount svc = new SavingsAccount();
+    Exception ex = assertThrows(IllegalArgumentException.class, () -> svc.transfer(from, to, 50.0));
+    assertTrue(ex.getMessage().contains("Insufficient"));
+  }
 }
@@ -0,0 +1,81 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.AccountBook;
+import com.example.learningjava.examples.banking.AccountSnapshot;
+import com.example.learningjava.examples.banking.TransactionJournal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccountSnapshotTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void restoreUsesSnapshotAndReplaysJournalTail() throws Exception {
+    Path journalPath = dir.resolve("ledger.journal");
+    Path snapshotPath = dir.resolve("ledger.snapshot");
+    TransactionJournal journal = TransactionJournal.open(journalPath);
+    AccountBook book = new AccountBook(journal);
+    for (long id = 100; id > 0; id--) {
+      book.open(id, id);
+    }
+    book.transfer(1, 2, 1.0);
+    long covered = book.writeSnapshot(snapshotPath);
+    assertEquals(101, covered);
+    book.transfer(2, 3, 2.0);
+    book.deposit(50, 5.0);
+    journal.close();
+
+    AccountSnapshot snapshot = AccountSnapshot.load(snapshotPath);
+    assertEquals(100, snapshot.size());
+    assertEquals(101, snapshot.getJournalSequence());
+    assertEquals(0, snapshot.indexOf(1));
+    assertEquals(0.0, snapshot.balanceAt(0), 0.001);
+    assertEquals(-1, snapshot.indexOf(1000));
+
+    AccountBook restored = AccountBook.restore(snapshotPath, journalPath);
+    assertEquals(0.0, restored.balance(1), 0.001);
+    assertEquals(1.0, restored.balance(2), 0.001);
+    assertEquals(5.0, restored.balance(3), 0.001);
+    assertEquals(55.0, restored.balance(50), 0.001);
+    assertEquals(100, restored.size());
+    assertThrows(IllegalArgumentException.class, () -> restored.open(99, 1.0));
+  }
+
+  @Test
+  void snapshotOfRestoredBookIncludesUntouchedAccounts() throws Exception {
+    Path journalPath = dir.resolve("ledger.journal");
+    Path first = dir.resolve("first.snapshot");
+    Path second = dir.resolve("second.snapshot");
+    TransactionJournal journal = TransactionJournal.open(journalPath);
+    AccountBook book = new AccountBook(journal);
+    book.open(1, 10.0);
+    book.open(2, 20.0);
+    book.writeSnapshot(first);
+    journal.close();
+
+    AccountBook restored = AccountBook.restore(first, journalPath);
+    restored.deposit(1, 5.0);
+    restored.open(3, 1.0);
+    assertEquals(3, restored.size());
+    double[] total = {0};
+    restored.forEachBalance((id, balance) -> total[0] += balance);
+    assertEquals(36.0, total[0], 0.001);
+    restored.writeSnapshot(second);
+    AccountSnapshot snapshot = AccountSnapshot.load(second);
+    assertEquals(3, snapshot.size());
+    assertEquals(15.0, snapshot.balanceAt(snapshot.indexOf(1)), 0.001);
+    assertEquals(20.0, snapshot.balanceAt(snapshot.indexOf(2)), 0.001);
+  }
+
+  @Test
+  void loadRejectsForeignFiles() throws Exception {
+    Path path = dir.resolve("bogus.snapshot");
+    Files.write(path, new byte[32]);
+    assertThrows(java.io.IOException.class, () -> AccountSnapshot.load(path));
+  }
+}
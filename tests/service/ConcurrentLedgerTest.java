@@ -0,0 +1,85 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.ConcurrentLedger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLedgerTest {
+
+  @Test
+  void transferMovesFundsAtomically() {
+    Account from = new Account("From", 200.0);
+    Account to = new Account("To", 50.0);
+    ConcurrentLedger ledger = new ConcurrentLedger(from);
+    ledger.transfer(from, to, 100.0);
+    assertEquals(100.0, ledger.balanceOf(from), 0.001);
+    assertEquals(150.0, ledger.balanceOf(to), 0.001);
+  }
+
+  @Test
+  void transferRejectsOverdraftWithoutPartialUpdate() {
+    Account from = new Account("From", 10.0);
+    Account to = new Account("To", 0.0);
+    ConcurrentLedger ledger = new ConcurrentLedger(from);
+    Exception ex =
+        assertThrows(IllegalArgumentException.class, () -> ledger.transfer(from, to, 20.0));
+    assertTrue(ex.getMessage().contains("Insufficient"));
+    assertEquals(10.0, from.getBalance(), 0.001);
+    assertEquals(0.0, to.getBalance(), 0.001);
+  }
+
+  @Test
+  void stripeCountIsRoundedToPowerOfTwo() {
+    assertEquals(8, new ConcurrentLedger(new Account("A", 0), 5).stripeCount());
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentLedger(null, 0));
+  }
+
+  @Test
+  void concurrentTransfersConserveTotalBalance() throws Exception {
+    int accountCount = 16;
+    List<Account> accounts = new ArrayList<>();
+    for (int i = 0; i < accountCount; i++) {
+      accounts.add(new Account("A" + i, 1000.0));
+    }
+    ConcurrentLedger ledger = new ConcurrentLedger(accounts.get(0), 4);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(
+            pool.submit(
+                () -> {
+                  ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                  for (int i = 0; i < 5000; i++) {
+                    Account a = accounts.get(rnd.nextInt(accountCount));
+                    Account b = accounts.get(rnd.nextInt(accountCount));
+                    try {
+                      ledger.transfer(a, b, 1 + rnd.nextInt(50));
+                    } catch (IllegalArgumentException ignored) {
+                      // overdraft attempts are expected under random load
+                    }
+                  }
+                }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    double total = 0;
+    for (Account a : accounts) {
+      assertTrue(a.getBalance() >= 0);
+      total += a.getBalance();
+    }
+    assertEquals(1000.0 * accountCount, total, 0.001);
+  }
+}
@@ -0,0 +1,125 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.SavingsAccount;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import com.example.learningjava.examples.banking.metrics.BankingMetrics;
+import com.example.learningjava.examples.banking.metrics.InstrumentedAccountService;
+import com.example.learningjava.examples.banking.metrics.LatencyHistogram;
+import com.example.learningjava.examples.banking.metrics.Operation;
+import com.example.learningjava.io.ReportFormat;
+import com.example.learningjava.io.ReportSink;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InstrumentedAccountServiceTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void countsCallsAndRejections() throws Exception {
+    SavingsAccount savings = new SavingsAccount();
+    InstrumentedAccountService service =
+        new InstrumentedAccountService(savings, new BankingMetrics());
+    Account a = new Account("A", 100.0);
+    Account b = new Account("B", 0.0);
+
+    service.deposit(50.0);
+    service.withdraw(20.0);
+    assertThrows(IllegalArgumentException.class, () -> service.withdraw(1_000.0));
+    service.transfer(a, b, 30.0);
+    assertThrows(IllegalArgumentException.class, () -> service.transfer(a, b, 500.0));
+    assertEquals(TransactionStatus.INVALID_AMOUNT, service.tryTransfer(a, b, -1.0));
+    service.calculateInterest(savings);
+
+    BankingMetrics.Snapshot snapshot = service.getMetrics().snapshot();
+    assertEquals(1, snapshot.get(Operation.DEPOSIT).getCalls());
+    assertEquals(2, snapshot.get(Operation.WITHDRAW).getCalls());
+    assertEquals(1, snapshot.get(Operation.WITHDRAW).getRejections());
+    assertEquals(3, snapshot.get(Operation.TRANSFER).getCalls());
+    assertEquals(2, snapshot.get(Operation.TRANSFER).getRejections());
+    assertEquals(1, snapshot.get(Operation.CALCULATE_INTEREST).getCalls());
+    assertEquals(31.2, savings.getBalance(), 1e-9);
+    assertEquals(3, snapshot.get(Operation.TRANSFER).getLatency().getCount());
+  }
+
+  @Test
+  void histogramPercentilesStayWithinBucketError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long v = 1; v <= 100_000; v++) {
+      histogram.record(v);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(100_000, snapshot.getCount());
+    assertEquals(100_000, snapshot.getMax());
+    assertEquals(50_000.5, snapshot.getMean(), 1e-9);
+    assertEquals(50_000, snapshot.percentile(0.5), 50_000 * 0.04);
+    assertEquals(99_000, snapshot.percentile(0.99), 99_000 * 0.04);
+    assertEquals(100_000, snapshot.percentile(1.0));
+
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, histogram.snapshot().percentile(1.0));
+  }
+
+  @Test
+  void concurrentRecordingIsCountedAcrossStripes() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  histogram.record(100);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(80_000, snapshot.getCount());
+    assertEquals(100.0, snapshot.getMean(), 1e-9);
+    assertEquals(100, snapshot.percentile(0.5), 100 * 0.04);
+  }
+
+  @Test
+  void exportsCsvAndJfrEvents() throws Exception {
+    Path jfr = dir.resolve("banking.jfr");
+    InstrumentedAccountService service =
+        new InstrumentedAccountService(new SavingsAccount(), new BankingMetrics());
+    try (Recording recording = new Recording()) {
+      recording.enable("com.example.learningjava.BankingOperation").withThreshold(Duration.ZERO);
+      recording.start();
+      service.deposit(10.0);
+      recording.stop();
+      recording.dump(jfr);
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+    assertTrue(
+        events.stream()
+            .anyMatch(
+                e ->
+                    e.getEventType().getName().equals("com.example.learningjava.BankingOperation")
+                        && e.getString("operation").equals("DEPOSIT")));
+
+    Path csv = dir.resolve("metrics.csv");
+    try (ReportSink sink = ReportSink.toFile(csv, ReportFormat.CSV)) {
+      service.getMetrics().snapshot().export(sink);
+    }
+    List<String> lines = Files.readAllLines(csv);
+    assertEquals(5, lines.size());
+    assertTrue(lines.get(0).startsWith("operation,calls,rejections"));
+    assertTrue(lines.get(1).startsWith("DEPOSIT,1,0,"));
+  }
+}
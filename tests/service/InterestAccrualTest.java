@@ -0,0 +1,82 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.InterestAccrual;
+import com.example.learningjava.examples.banking.SavingsAccount;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class InterestAccrualTest {
+
+  @Test
+  void savingsAccountUsesConfiguredRate() {
+    SavingsAccount acc = new SavingsAccount(0.10);
+    acc.deposit(1000);
+    acc.calculateInterest();
+    assertEquals(1100.0, acc.getBalance(), 0.001);
+  }
+
+  @Test
+  void accrueAppliesRatePerType() {
+    InterestAccrual accrual = new InterestAccrual(0.0, 0.04);
+    double[] balances = {100.0, 1000.0, 50.0};
+    accrual.accrue(balances, new byte[] {0, 1, 1});
+    assertArrayEquals(new double[] {100.0, 1040.0, 52.0}, balances, 0.0001);
+  }
+
+  @Test
+  void accrueMinorRoundsHalfUp() {
+    InterestAccrual accrual = new InterestAccrual(0.04);
+    long[] balances = {100_000, 13};
+    accrual.accrueMinor(balances, new byte[2]);
+    assertArrayEquals(new long[] {104_000, 14}, balances);
+  }
+
+  @Test
+  void accrueMinorThrowsOnOverflowLikeFixedPointAccount() {
+    InterestAccrual accrual = new InterestAccrual(0.04);
+    long[] balances = {Long.MAX_VALUE / 100};
+    assertThrows(ArithmeticException.class, () -> accrual.accrueMinor(balances, new byte[1]));
+    assertEquals(Long.MAX_VALUE / 100, balances[0]);
+
+    // A huge balance of a type that earns nothing must not be refused.
+    InterestAccrual mixed = new InterestAccrual(0.0, 0.04);
+    long[] huge = {Long.MAX_VALUE, 100};
+    mixed.accrueMinor(huge, new byte[] {0, 1});
+    assertArrayEquals(new long[] {Long.MAX_VALUE, 104}, huge);
+  }
+
+  @Test
+  void accrueMinorKeepsFractionalBasisPoints() {
+    InterestAccrual accrual = new InterestAccrual(0.000425);
+    long[] minor = {1_000_000_000L};
+    double[] major = {10_000_000.00};
+    accrual.accrueMinor(minor, new byte[1]);
+    accrual.accrue(major, new byte[1]);
+    assertEquals(1_000_425_000L, minor[0]);
+    assertEquals(major[0] * 100, minor[0], 1e-3);
+  }
+
+  @Test
+  void parallelMatchesSequential() {
+    InterestAccrual accrual = new InterestAccrual(64, 0.01, 0.04, 0.02);
+    double[] sequential = new double[10_000];
+    byte[] types = new byte[sequential.length];
+    for (int i = 0; i < sequential.length; i++) {
+      sequential[i] = i * 1.5;
+      types[i] = (byte) (i % 3);
+    }
+    double[] parallel = Arrays.copyOf(sequential, sequential.length);
+    accrual.accrue(sequential, types);
+    accrual.accrueParallel(parallel, types, ForkJoinPool.commonPool());
+    assertArrayEquals(sequential, parallel, 0.0);
+  }
+
+  @Test
+  void rejectsMismatchedColumns() {
+    InterestAccrual accrual = new InterestAccrual(0.04);
+    assertThrows(IllegalArgumentException.class, () -> accrual.accrue(new double[2], new byte[1]));
+  }
+}
@@ -0,0 +1,125 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.OffHeapBalanceTable;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+class OffHeapBalanceTableTest {
+
+  @Test
+  void followsAccountSemantics() {
+    OffHeapBalanceTable table = new OffHeapBalanceTable(10);
+    table.open(1, 100.0);
+    table.open(2, 0.0);
+
+    table.deposit(1, 50.25);
+    table.deposit(1, -10.0); // ignored like Account.deposit
+    assertEquals(150.25, table.balance(1), 1e-9);
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> table.withdraw(2, 1.0));
+    assertEquals("Insufficient funds", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> table.withdraw(1, -10.0));
+    assertEquals("Withdrawal amount must be positive", e.getMessage());
+    assertEquals(TransactionStatus.INVALID_AMOUNT, table.tryWithdraw(1, 0));
+    assertEquals(TransactionStatus.INVALID_AMOUNT, table.tryWithdraw(1, 0.001));
+    assertEquals(TransactionStatus.INVALID_AMOUNT, table.tryTransfer(1, 2, 0.004));
+    assertThrows(IllegalArgumentException.class, () -> table.tryWithdraw(1, Double.NaN));
+    assertEquals(150.25, table.balance(1), 1e-9);
+
+    table.transfer(1, 2, 50.0);
+    assertEquals(100.25, table.balance(1), 1e-9);
+    assertEquals(50.0, table.balance(2), 1e-9);
+
+    e = assertThrows(IllegalArgumentException.class, () -> table.transfer(1, 2, 0));
+    assertEquals("Transfer amount must be positive", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> table.transfer(2, 1, 500));
+    assertEquals("Insufficient balance", e.getMessage());
+    assertEquals(TransactionStatus.INSUFFICIENT_FUNDS, table.tryTransfer(2, 1, 500));
+  }
+
+  @Test
+  void rejectsUnknownDuplicateAndOverflowingIds() {
+    OffHeapBalanceTable table = new OffHeapBalanceTable(2);
+    table.open(0, 1.0);
+    table.open(Long.MAX_VALUE, 1.0);
+    assertThrows(IllegalArgumentException.class, () -> table.open(0, 5.0));
+    assertThrows(IllegalStateException.class, () -> table.open(7, 1.0));
+    assertThrows(IllegalArgumentException.class, () -> table.balance(7));
+    assertThrows(IllegalArgumentException.class, () -> table.open(-1, 1.0));
+    assertTrue(table.contains(Long.MAX_VALUE));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  void concurrentTransfersConserveMoney() throws Exception {
+    int accounts = 1_000;
+    OffHeapBalanceTable table = new OffHeapBalanceTable(accounts);
+    for (int id = 0; id < accounts; id++) {
+      table.open(id * 7919L, 100.0);
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                  long from = random.nextInt(accounts) * 7919L;
+                  long to = random.nextInt(accounts) * 7919L;
+                  table.tryTransfer(from, to, random.nextInt(1, 5_000) / 100.0);
+                }
+              }));
+    }
+    for (Future<?> f : futures) {
+      f.get();
+    }
+    pool.shutdown();
+    assertEquals(accounts * 10_000L, table.totalMinor());
+    for (int id = 0; id < accounts; id++) {
+      assertTrue(table.balanceMinor(id * 7919L) >= 0);
+    }
+  }
+
+  @Test
+  void concurrentOpensOfSameIdsSucceedOnce() throws Exception {
+    int accounts = 1_000;
+    OffHeapBalanceTable table = new OffHeapBalanceTable(accounts);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                int opened = 0;
+                for (int id = 0; id < accounts; id++) {
+                  try {
+                    table.open(id, 1.0);
+                    opened++;
+                  } catch (IllegalArgumentException duplicate) {
+                    // Another thread opened it first; its balance must already be visible.
+                    assertEquals(100, table.balanceMinor(id));
+                  }
+                }
+                return opened;
+              }));
+    }
+    int opened = 0;
+    for (Future<Integer> f : futures) {
+      opened += f.get();
+    }
+    pool.shutdown();
+    assertEquals(accounts, opened);
+    assertEquals(accounts, table.size());
+    assertEquals(accounts * 100L, table.totalMinor());
+  }
+}
@@ -0,0 +1,58 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.TransactionStatus;
+import com.example.learningjava.examples.banking.cluster.ShardUnavailableException;
+import com.example.learningjava.examples.banking.cluster.ShardedLedger;
+import org.junit.jupiter.api.Test;
+
+class ShardedLedgerTest {
+
+  @Test
+  void crossShardTransferCommitsOnBothShards() {
+    try (ShardedLedger ledger = new ShardedLedger(4)) {
+      long[] pair = crossShardPair(ledger);
+      ledger.open(pair[0], 100.0);
+      ledger.open(pair[1], 10.0);
+      ledger.transfer(pair[0], pair[1], 40.0);
+      assertEquals(60.0, ledger.balance(pair[0]), 0.001);
+      assertEquals(50.0, ledger.balance(pair[1]), 0.001);
+      assertEquals(
+          TransactionStatus.INSUFFICIENT_FUNDS, ledger.tryTransfer(pair[0], pair[1], 1000.0));
+      assertEquals(110.0, ledger.totalBalance(), 0.001);
+    }
+  }
+
+  @Test
+  void unknownTargetAbortsAndRestoresSource() {
+    try (ShardedLedger ledger = new ShardedLedger(4)) {
+      long[] pair = crossShardPair(ledger);
+      ledger.open(pair[0], 100.0);
+      assertThrows(IllegalArgumentException.class, () -> ledger.transfer(pair[0], pair[1], 10.0));
+      assertEquals(100.0, ledger.balance(pair[0]), 0.001);
+    }
+  }
+
+  @Test
+  void failedShardTimesOutThenAbortsOnRecovery() {
+    try (ShardedLedger ledger = new ShardedLedger(2, 50)) {
+      long[] pair = crossShardPair(ledger);
+      ledger.open(pair[0], 100.0);
+      ledger.open(pair[1], 0.0);
+      ledger.shard(ledger.shardOf(pair[1])).fail();
+      assertThrows(ShardUnavailableException.class, () -> ledger.transfer(pair[0], pair[1], 30.0));
+      ledger.shard(ledger.shardOf(pair[1])).recover();
+      assertEquals(100.0, ledger.balance(pair[0]), 0.001);
+      assertEquals(0.0, ledger.balance(pair[1]), 0.001);
+    }
+  }
+
+  private static long[] crossShardPair(ShardedLedger ledger) {
+    for (long id = 1; ; id++) {
+      if (ledger.shardOf(id) != ledger.shardOf(0)) {
+        return new long[] {0, id};
+      }
+    }
+  }
+}
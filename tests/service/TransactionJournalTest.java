@@ -0,0 +1,185 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.Account;
+import com.example.learningjava.examples.banking.AccountBook;
+import com.example.learningjava.examples.banking.JournalRecord;
+import com.example.learningjava.examples.banking.TransactionJournal;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionJournalTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void recoverReplaysCommittedMutations() throws Exception {
+    Path path = dir.resolve("ledger.journal");
+    TransactionJournal journal = TransactionJournal.open(path);
+    AccountBook book = new AccountBook(journal);
+    book.open(1, 100.0);
+    book.open(2, 0.0);
+    book.deposit(1, 50.0);
+    book.withdraw(1, 20.0);
+    book.transfer(1, 2, 30.0);
+    assertThrows(IllegalArgumentException.class, () -> book.transfer(2, 1, 500.0));
+    journal.close();
+
+    AccountBook recovered = AccountBook.recover(path);
+    assertEquals(100.0, recovered.balance(1), 0.001);
+    assertEquals(30.0, recovered.balance(2), 0.001);
+    recovered.deposit(2, 1.0);
+
+    List<JournalRecord> records = new ArrayList<>();
+    assertEquals(6, TransactionJournal.replay(path, 0, records::add));
+    assertEquals(JournalRecord.TRANSFER, records.get(4).getType());
+    assertEquals(6, records.get(5).getSequence());
+  }
+
+  @Test
+  void failedAppendLeavesBalancesUnchanged() throws Exception {
+    TransactionJournal journal = TransactionJournal.open(dir.resolve("closed.journal"));
+    AccountBook book = new AccountBook(journal);
+    book.open(1, 100.0);
+    book.open(2, 0.0);
+    journal.close();
+
+    assertThrows(IllegalStateException.class, () -> book.deposit(1, 50.0));
+    assertThrows(IllegalStateException.class, () -> book.withdraw(1, 50.0));
+    assertThrows(IllegalStateException.class, () -> book.transfer(1, 2, 50.0));
+    assertThrows(IllegalStateException.class, () -> book.open(3, 5.0));
+    assertEquals(100.0, book.balance(1), 0.001);
+    assertEquals(0.0, book.balance(2), 0.001);
+    assertNull(book.get(3));
+  }
+
+  @Test
+  void withJournalSharesAccountsAndLedger() throws Exception {
+    AccountBook book = new AccountBook();
+    book.open(1, 10.0);
+    try (TransactionJournal journal = TransactionJournal.open(dir.resolve("shared.journal"))) {
+      AccountBook journaled = book.withJournal(journal);
+      assertSame(book.getLedger(), journaled.getLedger());
+      journaled.deposit(1, 5.0);
+      book.open(2, 1.0);
+      assertEquals(15.0, book.balance(1), 0.001);
+      assertEquals(1.0, journaled.balance(2), 0.001);
+    }
+  }
+
+  @Test
+  void tornTailIsIgnored() throws Exception {
+    Path path = dir.resolve("torn.journal");
+    try (TransactionJournal journal = TransactionJournal.open(path)) {
+      long seq = journal.append(JournalRecord.OPEN, 7, 0, 10.0);
+      journal.awaitDurable(seq);
+    }
+    Files.write(path, new byte[] {4, 0, 0, 1}, StandardOpenOption.APPEND);
+
+    AccountBook recovered = AccountBook.recover(path);
+    assertEquals(10.0, recovered.balance(7), 0.001);
+    assertEquals(JournalRecord.SIZE, Files.size(path));
+  }
+
+  @Test
+  void concurrentAppendsShareSyncs() throws Exception {
+    Path path = dir.resolve("group.journal");
+    TransactionJournal journal = TransactionJournal.open(path);
+    AccountBook book = new AccountBook(journal);
+    for (long id = 0; id < 8; id++) {
+      book.open(id, 1000.0);
+    }
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      long from = t;
+      Thread th =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 200; i++) {
+                  book.transfer(from, (from + 1) % 8, 1.0);
+                }
+              });
+      threads.add(th);
+      th.start();
+    }
+    for (Thread th : threads) {
+      th.join();
+    }
+    journal.close();
+    assertTrue(journal.getSyncCount() < 8 + 8 * 200);
+
+    AccountBook recovered = AccountBook.recover(path);
+    double total = 0;
+    for (long id = 0; id < 8; id++) {
+      total += recovered.balance(id);
+      assertEquals(book.balance(id), recovered.balance(id), 0.001);
+    }
+    assertEquals(8000.0, total, 0.001);
+  }
+
+  @Test
+  void hotAccountDepositsShareSyncs() throws Exception {
+    TransactionJournal journal = TransactionJournal.open(dir.resolve("hot.journal"));
+    AccountBook book = new AccountBook(journal);
+    book.open(1, 0.0);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      Thread th =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 100; i++) {
+                  book.deposit(1, 1.0);
+                }
+              });
+      threads.add(th);
+      th.start();
+    }
+    for (Thread th : threads) {
+      th.join();
+    }
+    journal.close();
+    assertEquals(800.0, book.balance(1), 0.001);
+    // The stripe is not held across the sync, so deposits to one account still group-commit.
+    assertTrue(journal.getSyncCount() < 1 + 800);
+  }
+
+  @Test
+  void refusedTransferUsesTheAccountsOwnRule() throws Exception {
+    Path path = dir.resolve("frozen.journal");
+    TransactionJournal journal = TransactionJournal.open(path);
+    AccountBook book = new AccountBook(journal);
+    book.register(
+        1,
+        new Account("Frozen", 100.0) {
+          @Override
+          public TransactionStatus tryWithdraw(double amount) {
+            return TransactionStatus.INSUFFICIENT_FUNDS;
+          }
+
+          @Override
+          public void withdraw(double amount) {
+            throw new IllegalArgumentException("Account is frozen");
+          }
+        });
+    book.open(2, 0.0);
+
+    assertEquals(TransactionStatus.INSUFFICIENT_FUNDS, book.tryTransfer(1, 2, 10.0));
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> book.withdraw(1, 10.0));
+    assertEquals("Account is frozen", e.getMessage());
+    assertEquals(100.0, book.balance(1), 0.001);
+    assertEquals(0.0, book.balance(2), 0.001);
+    journal.close();
+
+    List<JournalRecord> records = new ArrayList<>();
+    TransactionJournal.replay(path, 0, records::add);
+    assertEquals(2, records.size());
+  }
+}
@@ -0,0 +1,145 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.learningjava.examples.banking.MoneyScale;
+import com.example.learningjava.examples.banking.TransactionStatus;
+import com.example.learningjava.examples.banking.TransferPipeline;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+class TransferPipelineTest {
+
+  @Test
+  void followsTransferSemantics() throws Exception {
+    try (TransferPipeline pipeline = new TransferPipeline(2, 4)) {
+      pipeline.deposit(0, 100.0);
+      pipeline.deposit(0, -5.0); // ignored like Account.deposit
+      pipeline.transfer(0, 1, 30.0); // across partitions
+      pipeline.transfer(0, 2, 20.0); // same partition
+      assertEquals(50.0, pipeline.balance(0), 1e-9);
+      assertEquals(30.0, pipeline.balance(1), 1e-9);
+      assertEquals(20.0, pipeline.balance(2), 1e-9);
+
+      IllegalArgumentException e =
+          assertThrows(IllegalArgumentException.class, () -> pipeline.transfer(3, 0, 1.0));
+      assertEquals("Insufficient balance", e.getMessage());
+      e = assertThrows(IllegalArgumentException.class, () -> pipeline.transfer(0, 1, 0));
+      assertEquals("Transfer amount must be positive", e.getMessage());
+      assertThrows(IllegalArgumentException.class, () -> pipeline.deposit(4, 1.0));
+      assertEquals(TransactionStatus.INSUFFICIENT_FUNDS, pipeline.tryTransfer(1, 0, 31.0));
+      assertEquals(TransactionStatus.INVALID_AMOUNT, pipeline.tryTransfer(0, 1, 0.001));
+    }
+  }
+
+  @Test
+  void hotAccountTransfersConserveMoney() throws Exception {
+    int accounts = 64;
+    TransferPipeline pipeline = new TransferPipeline(4, accounts, 256, MoneyScale.CENTS);
+    for (int id = 0; id < accounts; id++) {
+      pipeline.deposit(id, 1_000.0);
+    }
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread producer =
+          new Thread(
+              () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<CompletableFuture<TransactionStatus>> pending = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                  // Half of all transfers touch account 0, the hot account.
+                  int from = random.nextBoolean() ? 0 : random.nextInt(accounts);
+                  int to = random.nextInt(accounts);
+                  pending.add(pipeline.submitTransfer(from, to, 1 + random.nextInt(50)));
+                }
+                pending.forEach(CompletableFuture::join);
+              });
+      producers.add(producer);
+      producer.start();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    pipeline.close();
+
+    long total = 0;
+    for (int id = 0; id < accounts; id++) {
+      assertTrue(pipeline.balanceMinor(id) >= 0);
+      total += pipeline.balanceMinor(id);
+    }
+    assertEquals(accounts * 100_000L, total);
+    assertThrows(IllegalStateException.class, () -> pipeline.deposit(0, 1.0));
+  }
+
+  @Test
+  void closeRacingProducersAppliesEveryAcceptedRequest() throws Exception {
+    for (int round = 0; round < 20; round++) {
+      TransferPipeline pipeline = new TransferPipeline(2, 8, 16, MoneyScale.CENTS);
+      List<CompletableFuture<TransactionStatus>> accepted = new ArrayList<>();
+      List<Thread> producers = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int id = t;
+        Thread producer =
+            new Thread(
+                () -> {
+                  List<CompletableFuture<TransactionStatus>> mine = new ArrayList<>();
+                  try {
+                    while (true) {
+                      mine.add(pipeline.submitDeposit(id, 1.0));
+                    }
+                  } catch (IllegalStateException closed) {
+                    // Refused after shutdown; everything before it was accepted.
+                  }
+                  synchronized (accepted) {
+                    accepted.addAll(mine);
+                  }
+                });
+        producers.add(producer);
+        producer.start();
+      }
+      Thread.sleep(2);
+      pipeline.close();
+      for (Thread producer : producers) {
+        producer.join();
+      }
+      long total = 0;
+      for (int id = 0; id < 8; id++) {
+        total += pipeline.balanceMinor(id);
+      }
+      for (CompletableFuture<TransactionStatus> ticket : accepted) {
+        assertTrue(ticket.isDone());
+      }
+      assertEquals(accepted.size() * 100L, total);
+    }
+  }
+
+  @Test
+  void awaitTerminationAloneStopsAcceptingFirst() throws Exception {
+    TransferPipeline pipeline = new TransferPipeline(1, 2, 4, MoneyScale.CENTS);
+    List<CompletableFuture<TransactionStatus>> accepted = new ArrayList<>();
+    Thread producer =
+        new Thread(
+            () -> {
+              try {
+                while (true) {
+                  accepted.add(pipeline.submitDeposit(0, 1.0));
+                }
+              } catch (IllegalStateException closed) {
+                // Refused once awaitTermination shut the pipeline down.
+              }
+            });
+    producer.start();
+    Thread.sleep(2);
+    pipeline.awaitTermination();
+    producer.join(10_000);
+    assertFalse(producer.isAlive());
+    assertThrows(IllegalStateException.class, () -> pipeline.submitDeposit(0, 1.0));
+    for (CompletableFuture<TransactionStatus> ticket : accepted) {
+      assertTrue(ticket.isDone());
+    }
+    assertEquals(accepted.size() * 100L, pipeline.balanceMinor(0));
+  }
+}